@@ -0,0 +1,125 @@
+package com.github.trang.redisson.autoconfigure;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.type.AnnotationMetadata;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 为 prefix 下 Map 类型属性中的每一项注册一个 bean，beanName 为其 key
+ *
+ * 注册时属性还未绑定，所以这里只从 Environment 中解析出名称，属性由 FactoryBean 在创建时读取。支持以下形式：
+ * 1. prefix.name.type、prefix.name.node-addresses[0]
+ * 2. prefix[name].type
+ * 3. 环境变量 PREFIX_NAME_TYPE，名称转为小写；与属性绑定一致，环境变量中的 '_' 均视为层级分隔符，所以名称中不能包含 '_'
+ *
+ * @author trang
+ */
+@Slf4j
+abstract class AbstractNamedBeanRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware {
+
+    /** 如 redisson.clients，不以 '.' 结尾 */
+    private final String prefix;
+    private Environment environment;
+
+    AbstractNamedBeanRegistrar(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void registerBeanDefinitions(AnnotationMetadata metadata, BeanDefinitionRegistry registry) {
+        for (String name : resolveNames(environment, prefix)) {
+            if (registry.containsBeanDefinition(name)) {
+                log.warn("bean '{}' already exists, skip {} registration", name, prefix);
+                continue;
+            }
+            registry.registerBeanDefinition(name, beanDefinition(name));
+        }
+    }
+
+    /**
+     * @param name beanName
+     * @return 要注册的 BeanDefinition
+     */
+    protected abstract AbstractBeanDefinition beanDefinition(String name);
+
+    /**
+     * 从 Environment 中解析 prefix 下 Map 的所有 key
+     *
+     * @param environment Environment
+     * @param prefix      如 redisson.clients
+     * @return 按出现顺序排列的 key
+     */
+    static Set<String> resolveNames(Environment environment, String prefix) {
+        Set<String> names = new LinkedHashSet<>();
+        if (!(environment instanceof ConfigurableEnvironment)) {
+            return names;
+        }
+        String envPrefix = prefix.toUpperCase(Locale.ENGLISH).replace('.', '_').replace('-', '_') + "_";
+        for (PropertySource<?> source : ((ConfigurableEnvironment) environment).getPropertySources()) {
+            if (!(source instanceof EnumerablePropertySource)) {
+                continue;
+            }
+            for (String key : ((EnumerablePropertySource<?>) source).getPropertyNames()) {
+                String name = resolveName(key, prefix, envPrefix);
+                if (name != null && !name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String resolveName(String key, String prefix, String envPrefix) {
+        if (key.startsWith(prefix + ".")) {
+            return key.substring(prefix.length() + 1).split("[.\\[]", 2)[0];
+        }
+        if (key.startsWith(prefix + "[")) {
+            int end = key.indexOf(']', prefix.length());
+            return end != -1 ? key.substring(prefix.length() + 1, end) : null;
+        }
+        if (key.indexOf('.') == -1 && key.toUpperCase(Locale.ENGLISH).startsWith(envPrefix)) {
+            return key.substring(envPrefix.length()).split("_", 2)[0].toLowerCase(Locale.ENGLISH);
+        }
+        return null;
+    }
+
+    /**
+     * 按名称获取绑定后的属性，找不到时忽略大小写再查找一次，兼容环境变量绑定出的 key
+     *
+     * @param properties 绑定后的属性
+     * @param name       beanName
+     * @param <T>        属性类型
+     * @return 属性，不存在时返回 null
+     */
+    static <T> T lookup(Map<String, T> properties, String name) {
+        T value = properties.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, T> entry : properties.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+}
@@ -13,6 +13,8 @@ import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionMessage;
@@ -20,22 +22,29 @@ import org.springframework.boot.autoconfigure.condition.ConditionMessage.Style;
 import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 
 import com.github.trang.autoconfigure.Customizer;
 import com.github.trang.redisson.autoconfigure.RedissonAutoConfiguration.RedissonCondition;
-import com.github.trang.redisson.autoconfigure.RedissonProperties.ClusterServersConfig;
-import com.github.trang.redisson.autoconfigure.RedissonProperties.MasterSlaveServersConfig;
-import com.github.trang.redisson.autoconfigure.RedissonProperties.ReplicatedServersConfig;
-import com.github.trang.redisson.autoconfigure.RedissonProperties.SentinelServersConfig;
-import com.github.trang.redisson.autoconfigure.RedissonProperties.SingleServerConfig;
+import com.github.trang.redisson.autoconfigure.RedissonProperties.CircuitBreakerConfig;
+import com.github.trang.redisson.autoconfigure.RedissonProperties.HedgedReadsConfig;
+import com.github.trang.redisson.autoconfigure.RedissonProperties.LockMetricsConfig;
+import com.github.trang.redisson.autoconfigure.breaker.CircuitBreakerRegistry;
+import com.github.trang.redisson.autoconfigure.cluster.RedissonBulkOperations;
 import com.github.trang.redisson.autoconfigure.enums.RedissonType;
+import com.github.trang.redisson.autoconfigure.hedge.HedgePolicy;
+import com.github.trang.redisson.autoconfigure.lock.LockMetrics;
+import com.github.trang.redisson.autoconfigure.lock.LockMetricsEndpoint;
+import com.github.trang.redisson.autoconfigure.netty.NettyAllocatorMetrics;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -49,6 +58,7 @@ import lombok.extern.slf4j.Slf4j;
 @Conditional(RedissonCondition.class)
 @AutoConfigureBefore(CacheAutoConfiguration.class)
 @EnableConfigurationProperties(RedissonProperties.class)
+@Import(RedissonClientsRegistrar.class)
 @Slf4j
 public class RedissonAutoConfiguration {
 
@@ -88,244 +98,101 @@ public class RedissonAutoConfiguration {
         }
     }
 
+    /**
+     * 声明默认的 RedissonClient，redisson.clients 中声明的 RedissonClient 由 #{@link RedissonClientsRegistrar} 注册
+     *
+     * #{@code Customizer<Config>} 只作用于默认的 RedissonClient，redisson.clients 中的 RedissonClient 请使用 #{@link RedissonClientConfigCustomizer}
+     *
+     * @param lockMetricsProvider    锁监控
+     * @param circuitBreakerProvider 熔断器
+     * @param hedgePolicyProvider    对冲读
+     * @return RedissonClient redisson
+     */
     @Bean(destroyMethod = "shutdown")
+    @Primary
     @ConditionalOnMissingBean(RedissonClient.class)
-    public RedissonClient redisson() {
+    public RedissonClient redisson(ObjectProvider<LockMetrics> lockMetricsProvider,
+                                   ObjectProvider<CircuitBreakerRegistry> circuitBreakerProvider,
+                                   ObjectProvider<HedgePolicy> hedgePolicyProvider) {
         log.debug("redisson-client init...");
-        Config config = new Config();
-        configGlobal(config);
-        switch (redissonProperties.getType()) {
-            case SINGLE:
-                configSingle(config);
-                break;
-            case CLUSTER:
-                configCluster(config);
-                break;
-            case MASTER_SLAVE:
-                configMasterSlave(config);
-                break;
-            case SENTINEL:
-                configSentinel(config);
-                break;
-            case REPLICATED:
-                configReplicated(config);
-                break;
-            default:
-                throw new IllegalArgumentException("illegal redisson type: " + redissonProperties.getType());
-        }
+        Config config = RedissonConfigs.create(redissonProperties);
         // 用户自定义配置，拥有最高优先级
         redissonCustomizers.forEach(customizer -> customizer.customize(config));
-        return Redisson.create(config);
+        return RedissonClientInstrumentation.wrap("redisson", redissonProperties, Redisson.create(config),
+                circuitBreakerProvider.getIfAvailable(), hedgePolicyProvider.getIfAvailable(),
+                lockMetricsProvider.getIfAvailable());
     }
 
-    private void configGlobal(Config config) {
-        config.setCodec(redissonProperties.getCodec().getInstance())
-                .setThreads(redissonProperties.getThreads())
-                .setNettyThreads(redissonProperties.getNettyThreads())
-                .setExecutor(redissonProperties.getExecutor())
-                .setKeepPubSubOrder(redissonProperties.isKeepPubSubOrder())
-                .setTransportMode(redissonProperties.getTransportMode())
-                .setEventLoopGroup(redissonProperties.getEventLoopGroup())
-                .setReferenceCodecProvider(redissonProperties.getReferenceCodecProvider())
-                .setLockWatchdogTimeout(redissonProperties.getLockWatchdogTimeout())
-                .setAddressResolverGroupFactory(redissonProperties.getAddressResolverGroupFactory().getInstance())
-                .setReferenceEnabled(redissonProperties.isReferenceEnabled());
+    /**
+     * 批量读写工具，集群模式下按节点分组并行发送，通过 redisson.bulk-operations.enabled=true 开启
+     *
+     * @param redisson redisson 客户端
+     * @return RedissonBulkOperations redissonBulkOperations
+     */
+    @Bean
+    @ConditionalOnMissingBean(RedissonBulkOperations.class)
+    @ConditionalOnProperty(prefix = "redisson.bulk-operations", name = "enabled", havingValue = "true")
+    public RedissonBulkOperations redissonBulkOperations(RedissonClient redisson) {
+        return new RedissonBulkOperations(redisson);
     }
 
-    private void configSingle(Config config) {
-        SingleServerConfig properties = redissonProperties.getSingle();
-        config.useSingleServer()
-                // BaseConfig
-                .setPassword(properties.getPassword())
-                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
-                .setRetryAttempts(properties.getRetryAttempts())
-                .setRetryInterval(properties.getRetryInterval())
-                .setTimeout(properties.getTimeout())
-                .setClientName(properties.getClientName())
-                .setPingTimeout(properties.getPingTimeout())
-                .setConnectTimeout(properties.getConnectTimeout())
-                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
-                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
-                .setSslProvider(properties.getSslProvider())
-                .setSslTruststore(properties.getSslTrustStore())
-                .setSslTruststorePassword(properties.getSslKeystorePassword())
-                .setSslKeystore(properties.getSslKeystore())
-                .setSslKeystorePassword(properties.getSslKeystorePassword())
-                .setPingConnectionInterval(properties.getPingConnectionInterval())
-                .setKeepAlive(properties.isKeepAlive())
-                .setTcpNoDelay(properties.isTcpNoDelay())
-                // SingleServerConfig
-                .setAddress(properties.getAddress())
-                .setDatabase(properties.getDatabase())
-                .setConnectionMinimumIdleSize(properties.getConnectionMinimumIdleSize())
-                .setConnectionPoolSize(properties.getConnectionPoolSize())
-                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
-                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
-                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval());
+    @Bean
+    @ConditionalOnMissingBean(LockMetrics.class)
+    @ConditionalOnProperty(prefix = "redisson.lock-metrics", name = "enabled", havingValue = "true")
+    public LockMetrics redissonLockMetrics() {
+        LockMetricsConfig properties = redissonProperties.getLockMetrics();
+        return new LockMetrics(properties.getPatterns(), properties.getMaxTrackedNames());
     }
 
-    private void configCluster(Config config) {
-        ClusterServersConfig properties = redissonProperties.getCluster();
-        config.useClusterServers()
-                // BaseConfig
-                .setPassword(properties.getPassword())
-                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
-                .setRetryAttempts(properties.getRetryAttempts())
-                .setRetryInterval(properties.getRetryInterval())
-                .setTimeout(properties.getTimeout())
-                .setClientName(properties.getClientName())
-                .setPingTimeout(properties.getPingTimeout())
-                .setConnectTimeout(properties.getConnectTimeout())
-                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
-                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
-                .setSslProvider(properties.getSslProvider())
-                .setSslTruststore(properties.getSslTrustStore())
-                .setSslTruststorePassword(properties.getSslKeystorePassword())
-                .setSslKeystore(properties.getSslKeystore())
-                .setSslKeystorePassword(properties.getSslKeystorePassword())
-                .setPingConnectionInterval(properties.getPingConnectionInterval())
-                .setKeepAlive(properties.isKeepAlive())
-                .setTcpNoDelay(properties.isTcpNoDelay())
-                // BaseMasterSlaveServersConfig
-                .setLoadBalancer(properties.getLoadBalancer().getInstance())
-                .setMasterConnectionMinimumIdleSize(properties.getMasterConnectionMinimumIdleSize())
-                .setMasterConnectionPoolSize(properties.getMasterConnectionPoolSize())
-                .setSlaveConnectionMinimumIdleSize(properties.getSlaveConnectionMinimumIdleSize())
-                .setSlaveConnectionPoolSize(properties.getSlaveConnectionPoolSize())
-                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
-                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
-                .setFailedSlaveCheckInterval(properties.getFailedSlaveCheckInterval())
-                .setFailedSlaveReconnectionInterval(properties.getFailedSlaveReconnectionInterval())
-                .setReadMode(properties.getReadMode())
-                .setSubscriptionMode(properties.getSubscriptionMode())
-                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval())
-                // ClusterServersConfig
-                .addNodeAddress(properties.getNodeAddresses())
-                .setScanInterval(properties.getScanInterval());
+    @Bean
+    @ConditionalOnMissingBean(CircuitBreakerRegistry.class)
+    @ConditionalOnProperty(prefix = "redisson.circuit-breaker", name = "enabled", havingValue = "true")
+    public CircuitBreakerRegistry redissonCircuitBreakerRegistry() {
+        CircuitBreakerConfig properties = redissonProperties.getCircuitBreaker();
+        return new CircuitBreakerRegistry(properties.getFailureRateThreshold(), properties.getSlowCallThreshold(),
+                properties.getMinimumCalls(), properties.getWindow(), properties.getOpenDuration());
     }
 
-    private void configMasterSlave(Config config) {
-        MasterSlaveServersConfig properties = redissonProperties.getMasterSlave();
-        config.useMasterSlaveServers()
-                // BaseConfig
-                .setPassword(properties.getPassword())
-                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
-                .setRetryAttempts(properties.getRetryAttempts())
-                .setRetryInterval(properties.getRetryInterval())
-                .setTimeout(properties.getTimeout())
-                .setClientName(properties.getClientName())
-                .setPingTimeout(properties.getPingTimeout())
-                .setConnectTimeout(properties.getConnectTimeout())
-                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
-                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
-                .setSslProvider(properties.getSslProvider())
-                .setSslTruststore(properties.getSslTrustStore())
-                .setSslTruststorePassword(properties.getSslKeystorePassword())
-                .setSslKeystore(properties.getSslKeystore())
-                .setSslKeystorePassword(properties.getSslKeystorePassword())
-                .setPingConnectionInterval(properties.getPingConnectionInterval())
-                .setKeepAlive(properties.isKeepAlive())
-                .setTcpNoDelay(properties.isTcpNoDelay())
-                // BaseMasterSlaveServersConfig
-                .setLoadBalancer(properties.getLoadBalancer().getInstance())
-                .setMasterConnectionMinimumIdleSize(properties.getMasterConnectionMinimumIdleSize())
-                .setMasterConnectionPoolSize(properties.getMasterConnectionPoolSize())
-                .setSlaveConnectionMinimumIdleSize(properties.getSlaveConnectionMinimumIdleSize())
-                .setSlaveConnectionPoolSize(properties.getSlaveConnectionPoolSize())
-                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
-                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
-                .setFailedSlaveCheckInterval(properties.getFailedSlaveCheckInterval())
-                .setFailedSlaveReconnectionInterval(properties.getFailedSlaveReconnectionInterval())
-                .setReadMode(properties.getReadMode())
-                .setSubscriptionMode(properties.getSubscriptionMode())
-                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval())
-                // MasterSlaveServersConfig
-                .setMasterAddress(properties.getMasterAddress())
-                .addSlaveAddress(properties.getSlaveAddresses())
-                .setDatabase(properties.getDatabase());
+    @Bean
+    @ConditionalOnMissingBean(HedgePolicy.class)
+    @ConditionalOnProperty(prefix = "redisson.hedged-reads", name = "enabled", havingValue = "true")
+    public HedgePolicy redissonHedgePolicy() {
+        HedgedReadsConfig properties = redissonProperties.getHedgedReads();
+        return new HedgePolicy(properties.getDelay(), properties.getPercentile(), properties.getSampleSize(),
+                properties.getMaxRatio(), properties.getBurst());
     }
 
-    private void configSentinel(Config config) {
-        SentinelServersConfig properties = redissonProperties.getSentinel();
-        config.useSentinelServers()
-                // BaseConfig
-                .setPassword(properties.getPassword())
-                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
-                .setRetryAttempts(properties.getRetryAttempts())
-                .setRetryInterval(properties.getRetryInterval())
-                .setTimeout(properties.getTimeout())
-                .setClientName(properties.getClientName())
-                .setPingTimeout(properties.getPingTimeout())
-                .setConnectTimeout(properties.getConnectTimeout())
-                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
-                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
-                .setSslProvider(properties.getSslProvider())
-                .setSslTruststore(properties.getSslTrustStore())
-                .setSslTruststorePassword(properties.getSslKeystorePassword())
-                .setSslKeystore(properties.getSslKeystore())
-                .setSslKeystorePassword(properties.getSslKeystorePassword())
-                .setPingConnectionInterval(properties.getPingConnectionInterval())
-                .setKeepAlive(properties.isKeepAlive())
-                .setTcpNoDelay(properties.isTcpNoDelay())
-                // BaseMasterSlaveServersConfig
-                .setLoadBalancer(properties.getLoadBalancer().getInstance())
-                .setMasterConnectionMinimumIdleSize(properties.getMasterConnectionMinimumIdleSize())
-                .setMasterConnectionPoolSize(properties.getMasterConnectionPoolSize())
-                .setSlaveConnectionMinimumIdleSize(properties.getSlaveConnectionMinimumIdleSize())
-                .setSlaveConnectionPoolSize(properties.getSlaveConnectionPoolSize())
-                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
-                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
-                .setFailedSlaveCheckInterval(properties.getFailedSlaveCheckInterval())
-                .setFailedSlaveReconnectionInterval(properties.getFailedSlaveReconnectionInterval())
-                .setReadMode(properties.getReadMode())
-                .setSubscriptionMode(properties.getSubscriptionMode())
-                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval())
-                // SentinelServersConfig
-                .addSentinelAddress(properties.getSentinelAddresses())
-                .setMasterName(properties.getMasterName())
-                .setScanInterval(properties.getScanInterval())
-                .setDatabase(properties.getDatabase());
+    /**
+     * 锁监控端点，依赖 spring-boot-actuator
+     */
+    @Configuration
+    @ConditionalOnClass(AbstractEndpoint.class)
+    @ConditionalOnProperty(prefix = "redisson.lock-metrics", name = "enabled", havingValue = "true")
+    static class LockMetricsEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(LockMetricsEndpoint.class)
+        public LockMetricsEndpoint redissonLockMetricsEndpoint(LockMetrics lockMetrics,
+                                                              RedissonProperties redissonProperties) {
+            return new LockMetricsEndpoint(lockMetrics, redissonProperties.getLockMetrics().getTop());
+        }
+
     }
 
-    private void configReplicated(Config config) {
-        ReplicatedServersConfig properties = redissonProperties.getReplicated();
-        config.useReplicatedServers()
-                // BaseConfig
-                .setPassword(properties.getPassword())
-                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
-                .setRetryAttempts(properties.getRetryAttempts())
-                .setRetryInterval(properties.getRetryInterval())
-                .setTimeout(properties.getTimeout())
-                .setClientName(properties.getClientName())
-                .setPingTimeout(properties.getPingTimeout())
-                .setConnectTimeout(properties.getConnectTimeout())
-                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
-                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
-                .setSslProvider(properties.getSslProvider())
-                .setSslTruststore(properties.getSslTrustStore())
-                .setSslTruststorePassword(properties.getSslKeystorePassword())
-                .setSslKeystore(properties.getSslKeystore())
-                .setSslKeystorePassword(properties.getSslKeystorePassword())
-                .setPingConnectionInterval(properties.getPingConnectionInterval())
-                .setKeepAlive(properties.isKeepAlive())
-                .setTcpNoDelay(properties.isTcpNoDelay())
-                // BaseMasterSlaveServersConfig
-                .setLoadBalancer(properties.getLoadBalancer().getInstance())
-                .setMasterConnectionMinimumIdleSize(properties.getMasterConnectionMinimumIdleSize())
-                .setMasterConnectionPoolSize(properties.getMasterConnectionPoolSize())
-                .setSlaveConnectionMinimumIdleSize(properties.getSlaveConnectionMinimumIdleSize())
-                .setSlaveConnectionPoolSize(properties.getSlaveConnectionPoolSize())
-                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
-                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
-                .setFailedSlaveCheckInterval(properties.getFailedSlaveCheckInterval())
-                .setFailedSlaveReconnectionInterval(properties.getFailedSlaveReconnectionInterval())
-                .setReadMode(properties.getReadMode())
-                .setSubscriptionMode(properties.getSubscriptionMode())
-                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval())
-                // ReplicatedServersConfig
-                .addNodeAddress(properties.getNodeAddresses())
-                .setScanInterval(properties.getScanInterval())
-                .setDatabase(properties.getDatabase());
+    /**
+     * Netty 分配器内存监控，依赖 spring-boot-actuator，分配器参数由 #{@link com.github.trang.redisson.autoconfigure.netty.NettyAllocatorEnvironmentPostProcessor} 设置
+     */
+    @Configuration
+    @ConditionalOnClass(PublicMetrics.class)
+    @ConditionalOnProperty(prefix = "redisson.netty-allocator", name = "metrics-enabled", havingValue = "true", matchIfMissing = true)
+    static class NettyAllocatorMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(NettyAllocatorMetrics.class)
+        public NettyAllocatorMetrics redissonNettyAllocatorMetrics() {
+            return new NettyAllocatorMetrics();
+        }
+
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.github.trang.redisson.autoconfigure;
+
+import org.redisson.config.Config;
+
+/**
+ * redisson.clients 中的 RedissonClient 的 Config 自定义配置
+ *
+ * #{@code Customizer<Config>} 只作用于默认的 RedissonClient，避免为默认 RedissonClient 设置的节点、连接池等覆盖其它 RedissonClient
+ *
+ * @author trang
+ */
+@FunctionalInterface
+public interface RedissonClientConfigCustomizer {
+
+    /**
+     * @param name   beanName，即 redisson.clients 中的 key
+     * @param config 由配置属性生成的 Config
+     */
+    void customize(String name, Config config);
+
+}
@@ -0,0 +1,88 @@
+package com.github.trang.redisson.autoconfigure;
+
+import java.util.List;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.github.trang.redisson.autoconfigure.breaker.CircuitBreakerRegistry;
+import com.github.trang.redisson.autoconfigure.hedge.HedgePolicy;
+import com.github.trang.redisson.autoconfigure.lock.LockMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 根据 redisson.clients 中的配置创建 RedissonClient
+ *
+ * 只应用 #{@link RedissonClientConfigCustomizer}，#{@code Customizer<Config>} 只作用于默认的 RedissonClient
+ *
+ * @author trang
+ */
+@Slf4j
+public class RedissonClientFactoryBean implements FactoryBean<RedissonClient>, DisposableBean {
+
+    private final String name;
+    private final RedissonProperties redissonProperties;
+    private final ObjectProvider<List<RedissonClientConfigCustomizer>> customizersProvider;
+    private final ObjectProvider<LockMetrics> lockMetricsProvider;
+    private final ObjectProvider<CircuitBreakerRegistry> circuitBreakerProvider;
+    private final ObjectProvider<HedgePolicy> hedgePolicyProvider;
+    private RedissonClient redisson;
+
+    public RedissonClientFactoryBean(String name, RedissonProperties redissonProperties,
+                                     ObjectProvider<List<RedissonClientConfigCustomizer>> customizersProvider,
+                                     ObjectProvider<LockMetrics> lockMetricsProvider,
+                                     ObjectProvider<CircuitBreakerRegistry> circuitBreakerProvider,
+                                     ObjectProvider<HedgePolicy> hedgePolicyProvider) {
+        this.name = name;
+        this.redissonProperties = redissonProperties;
+        this.customizersProvider = customizersProvider;
+        this.lockMetricsProvider = lockMetricsProvider;
+        this.circuitBreakerProvider = circuitBreakerProvider;
+        this.hedgePolicyProvider = hedgePolicyProvider;
+    }
+
+    @Override
+    public synchronized RedissonClient getObject() {
+        if (redisson == null) {
+            log.debug("redisson-client '{}' init...", name);
+            RedissonClientProperties clientProperties =
+                    AbstractNamedBeanRegistrar.lookup(redissonProperties.getClients(), name);
+            if (clientProperties == null) {
+                throw new IllegalStateException("no redisson client properties found: redisson.clients." + name);
+            }
+            Config config = RedissonConfigs.create(clientProperties);
+            // 用户自定义配置，拥有最高优先级
+            List<RedissonClientConfigCustomizer> customizers = customizersProvider.getIfAvailable();
+            if (customizers != null) {
+                customizers.forEach(customizer -> customizer.customize(name, config));
+            }
+            redisson = RedissonClientInstrumentation.wrap(name, clientProperties, Redisson.create(config),
+                    circuitBreakerProvider.getIfAvailable(), hedgePolicyProvider.getIfAvailable(),
+                    lockMetricsProvider.getIfAvailable());
+        }
+        return redisson;
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return RedissonClient.class;
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (redisson != null) {
+            redisson.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.github.trang.redisson.autoconfigure;
+
+import org.redisson.api.RedissonClient;
+import org.redisson.config.ReadMode;
+
+import com.github.trang.redisson.autoconfigure.breaker.CircuitBreakerInstrumentation;
+import com.github.trang.redisson.autoconfigure.breaker.CircuitBreakerRegistry;
+import com.github.trang.redisson.autoconfigure.enums.RedissonType;
+import com.github.trang.redisson.autoconfigure.hedge.HedgePolicy;
+import com.github.trang.redisson.autoconfigure.hedge.HedgedReads;
+import com.github.trang.redisson.autoconfigure.lock.LockInstrumentation;
+import com.github.trang.redisson.autoconfigure.lock.LockMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 按配置包装 RedissonClient，默认的 RedissonClient 与 redisson.clients 中的 RedissonClient 共用
+ *
+ * 包装顺序为 熔断 -> 对冲读 -> 锁监控：熔断需要未包装的 RedissonClient 确定节点，所以最先包装，每次对冲读都会单独计入熔断统计
+ *
+ * @author trang
+ */
+@Slf4j
+final class RedissonClientInstrumentation {
+
+    private RedissonClientInstrumentation() {
+    }
+
+    /**
+     * @param name                   beanName，用于日志
+     * @param properties             RedissonClient 的配置属性
+     * @param redisson               未包装的 RedissonClient
+     * @param circuitBreakerRegistry 熔断器，为 null 时不包装
+     * @param hedgePolicy            对冲读，为 null 时不包装
+     * @param lockMetrics            锁监控，为 null 时不包装
+     * @return 包装后的 RedissonClient
+     */
+    static RedissonClient wrap(String name, RedissonClientProperties properties, RedissonClient redisson,
+                               CircuitBreakerRegistry circuitBreakerRegistry, HedgePolicy hedgePolicy,
+                               LockMetrics lockMetrics) {
+        RedissonClient wrapped = redisson;
+        // 开启熔断时，包装 RedissonClient 以按节点熔断获取到的对象
+        if (circuitBreakerRegistry != null) {
+            wrapped = CircuitBreakerInstrumentation.wrap(wrapped, circuitBreakerRegistry);
+        }
+        // 开启对冲读时，包装 RedissonClient 以对冲获取到的对象的读命令
+        if (hedgePolicy != null) {
+            if (properties.getType() == RedissonType.SINGLE) {
+                log.warn("redisson hedged-reads has no effect in single mode, client: {}", name);
+            } else if (readMode(properties) == ReadMode.MASTER) {
+                log.warn("redisson hedged-reads has no effect with readMode=MASTER, client: {}", name);
+            }
+            wrapped = HedgedReads.wrap(wrapped, hedgePolicy);
+        }
+        // 开启锁监控时，包装 RedissonClient 以统计获取到的锁
+        // 续期次数按各个 RedissonClient 自身的 lockWatchdogTimeout 估算
+        return lockMetrics != null
+                ? LockInstrumentation.wrap(wrapped, lockMetrics, redisson.getConfig().getLockWatchdogTimeout())
+                : wrapped;
+    }
+
+    /**
+     * @return 当前模式的读取负载均衡模式，单机模式返回 null
+     */
+    private static ReadMode readMode(RedissonClientProperties properties) {
+        if (properties.getType() == null) {
+            return null;
+        }
+        switch (properties.getType()) {
+            case CLUSTER:
+                return properties.getCluster().getReadMode();
+            case MASTER_SLAVE:
+                return properties.getMasterSlave().getReadMode();
+            case SENTINEL:
+                return properties.getSentinel().getReadMode();
+            case REPLICATED:
+                return properties.getReplicated().getReadMode();
+            default:
+                return null;
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.github.trang.redisson.autoconfigure;
+
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+
+/**
+ * 为 redisson.clients 中的每一项注册一个 RedissonClient，beanName 为其 key
+ *
+ * 属性由 #{@link RedissonClientFactoryBean} 在创建时读取
+ *
+ * @author trang
+ */
+class RedissonClientsRegistrar extends AbstractNamedBeanRegistrar {
+
+    RedissonClientsRegistrar() {
+        super("redisson.clients");
+    }
+
+    @Override
+    protected AbstractBeanDefinition beanDefinition(String name) {
+        return BeanDefinitionBuilder.genericBeanDefinition(RedissonClientFactoryBean.class)
+                .addConstructorArgValue(name)
+                .setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR)
+                .getBeanDefinition();
+    }
+
+}
@@ -0,0 +1,256 @@
+package com.github.trang.redisson.autoconfigure;
+
+import org.redisson.config.Config;
+
+import com.github.trang.redisson.autoconfigure.RedissonClientProperties.ClusterServersConfig;
+import com.github.trang.redisson.autoconfigure.RedissonClientProperties.MasterSlaveServersConfig;
+import com.github.trang.redisson.autoconfigure.RedissonClientProperties.ReplicatedServersConfig;
+import com.github.trang.redisson.autoconfigure.RedissonClientProperties.SentinelServersConfig;
+import com.github.trang.redisson.autoconfigure.RedissonClientProperties.SingleServerConfig;
+
+/**
+ * 根据 RedissonClientProperties 创建 Redisson Config
+ *
+ * @author trang
+ */
+final class RedissonConfigs {
+
+    private RedissonConfigs() {
+    }
+
+    static Config create(RedissonClientProperties clientProperties) {
+        Config config = new Config();
+        configGlobal(config, clientProperties);
+        switch (clientProperties.getType()) {
+            case SINGLE:
+                configSingle(config, clientProperties);
+                break;
+            case CLUSTER:
+                configCluster(config, clientProperties);
+                break;
+            case MASTER_SLAVE:
+                configMasterSlave(config, clientProperties);
+                break;
+            case SENTINEL:
+                configSentinel(config, clientProperties);
+                break;
+            case REPLICATED:
+                configReplicated(config, clientProperties);
+                break;
+            default:
+                throw new IllegalArgumentException("illegal redisson type: " + clientProperties.getType());
+        }
+        return config;
+    }
+
+    private static void configGlobal(Config config, RedissonClientProperties clientProperties) {
+        config.setCodec(clientProperties.getCodec().getInstance())
+                .setThreads(clientProperties.getThreads())
+                .setNettyThreads(clientProperties.getNettyThreads())
+                .setExecutor(clientProperties.getExecutor())
+                .setKeepPubSubOrder(clientProperties.isKeepPubSubOrder())
+                .setTransportMode(clientProperties.getTransportMode())
+                .setEventLoopGroup(clientProperties.getEventLoopGroup())
+                .setReferenceCodecProvider(clientProperties.getReferenceCodecProvider())
+                .setLockWatchdogTimeout(clientProperties.getLockWatchdogTimeout())
+                .setAddressResolverGroupFactory(clientProperties.getAddressResolverGroupFactory().getInstance())
+                .setReferenceEnabled(clientProperties.isReferenceEnabled());
+    }
+
+    private static void configSingle(Config config, RedissonClientProperties clientProperties) {
+        SingleServerConfig properties = clientProperties.getSingle();
+        config.useSingleServer()
+                // BaseConfig
+                .setPassword(properties.getPassword())
+                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
+                .setRetryAttempts(properties.getRetryAttempts())
+                .setRetryInterval(properties.getRetryInterval())
+                .setTimeout(properties.getTimeout())
+                .setClientName(properties.getClientName())
+                .setPingTimeout(properties.getPingTimeout())
+                .setConnectTimeout(properties.getConnectTimeout())
+                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
+                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
+                .setSslProvider(properties.getSslProvider())
+                .setSslTruststore(properties.getSslTrustStore())
+                .setSslTruststorePassword(properties.getSslKeystorePassword())
+                .setSslKeystore(properties.getSslKeystore())
+                .setSslKeystorePassword(properties.getSslKeystorePassword())
+                .setPingConnectionInterval(properties.getPingConnectionInterval())
+                .setKeepAlive(properties.isKeepAlive())
+                .setTcpNoDelay(properties.isTcpNoDelay())
+                // SingleServerConfig
+                .setAddress(properties.getAddress())
+                .setDatabase(properties.getDatabase())
+                .setConnectionMinimumIdleSize(properties.getConnectionMinimumIdleSize())
+                .setConnectionPoolSize(properties.getConnectionPoolSize())
+                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
+                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
+                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval());
+    }
+
+    private static void configCluster(Config config, RedissonClientProperties clientProperties) {
+        ClusterServersConfig properties = clientProperties.getCluster();
+        config.useClusterServers()
+                // BaseConfig
+                .setPassword(properties.getPassword())
+                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
+                .setRetryAttempts(properties.getRetryAttempts())
+                .setRetryInterval(properties.getRetryInterval())
+                .setTimeout(properties.getTimeout())
+                .setClientName(properties.getClientName())
+                .setPingTimeout(properties.getPingTimeout())
+                .setConnectTimeout(properties.getConnectTimeout())
+                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
+                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
+                .setSslProvider(properties.getSslProvider())
+                .setSslTruststore(properties.getSslTrustStore())
+                .setSslTruststorePassword(properties.getSslKeystorePassword())
+                .setSslKeystore(properties.getSslKeystore())
+                .setSslKeystorePassword(properties.getSslKeystorePassword())
+                .setPingConnectionInterval(properties.getPingConnectionInterval())
+                .setKeepAlive(properties.isKeepAlive())
+                .setTcpNoDelay(properties.isTcpNoDelay())
+                // BaseMasterSlaveServersConfig
+                .setLoadBalancer(properties.getLoadBalancer().getInstance())
+                .setMasterConnectionMinimumIdleSize(properties.getMasterConnectionMinimumIdleSize())
+                .setMasterConnectionPoolSize(properties.getMasterConnectionPoolSize())
+                .setSlaveConnectionMinimumIdleSize(properties.getSlaveConnectionMinimumIdleSize())
+                .setSlaveConnectionPoolSize(properties.getSlaveConnectionPoolSize())
+                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
+                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
+                .setFailedSlaveCheckInterval(properties.getFailedSlaveCheckInterval())
+                .setFailedSlaveReconnectionInterval(properties.getFailedSlaveReconnectionInterval())
+                .setReadMode(properties.getReadMode())
+                .setSubscriptionMode(properties.getSubscriptionMode())
+                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval())
+                // ClusterServersConfig
+                .addNodeAddress(properties.getNodeAddresses())
+                .setScanInterval(properties.getScanInterval());
+    }
+
+    private static void configMasterSlave(Config config, RedissonClientProperties clientProperties) {
+        MasterSlaveServersConfig properties = clientProperties.getMasterSlave();
+        config.useMasterSlaveServers()
+                // BaseConfig
+                .setPassword(properties.getPassword())
+                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
+                .setRetryAttempts(properties.getRetryAttempts())
+                .setRetryInterval(properties.getRetryInterval())
+                .setTimeout(properties.getTimeout())
+                .setClientName(properties.getClientName())
+                .setPingTimeout(properties.getPingTimeout())
+                .setConnectTimeout(properties.getConnectTimeout())
+                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
+                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
+                .setSslProvider(properties.getSslProvider())
+                .setSslTruststore(properties.getSslTrustStore())
+                .setSslTruststorePassword(properties.getSslKeystorePassword())
+                .setSslKeystore(properties.getSslKeystore())
+                .setSslKeystorePassword(properties.getSslKeystorePassword())
+                .setPingConnectionInterval(properties.getPingConnectionInterval())
+                .setKeepAlive(properties.isKeepAlive())
+                .setTcpNoDelay(properties.isTcpNoDelay())
+                // BaseMasterSlaveServersConfig
+                .setLoadBalancer(properties.getLoadBalancer().getInstance())
+                .setMasterConnectionMinimumIdleSize(properties.getMasterConnectionMinimumIdleSize())
+                .setMasterConnectionPoolSize(properties.getMasterConnectionPoolSize())
+                .setSlaveConnectionMinimumIdleSize(properties.getSlaveConnectionMinimumIdleSize())
+                .setSlaveConnectionPoolSize(properties.getSlaveConnectionPoolSize())
+                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
+                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
+                .setFailedSlaveCheckInterval(properties.getFailedSlaveCheckInterval())
+                .setFailedSlaveReconnectionInterval(properties.getFailedSlaveReconnectionInterval())
+                .setReadMode(properties.getReadMode())
+                .setSubscriptionMode(properties.getSubscriptionMode())
+                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval())
+                // MasterSlaveServersConfig
+                .setMasterAddress(properties.getMasterAddress())
+                .addSlaveAddress(properties.getSlaveAddresses())
+                .setDatabase(properties.getDatabase());
+    }
+
+    private static void configSentinel(Config config, RedissonClientProperties clientProperties) {
+        SentinelServersConfig properties = clientProperties.getSentinel();
+        config.useSentinelServers()
+                // BaseConfig
+                .setPassword(properties.getPassword())
+                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
+                .setRetryAttempts(properties.getRetryAttempts())
+                .setRetryInterval(properties.getRetryInterval())
+                .setTimeout(properties.getTimeout())
+                .setClientName(properties.getClientName())
+                .setPingTimeout(properties.getPingTimeout())
+                .setConnectTimeout(properties.getConnectTimeout())
+                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
+                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
+                .setSslProvider(properties.getSslProvider())
+                .setSslTruststore(properties.getSslTrustStore())
+                .setSslTruststorePassword(properties.getSslKeystorePassword())
+                .setSslKeystore(properties.getSslKeystore())
+                .setSslKeystorePassword(properties.getSslKeystorePassword())
+                .setPingConnectionInterval(properties.getPingConnectionInterval())
+                .setKeepAlive(properties.isKeepAlive())
+                .setTcpNoDelay(properties.isTcpNoDelay())
+                // BaseMasterSlaveServersConfig
+                .setLoadBalancer(properties.getLoadBalancer().getInstance())
+                .setMasterConnectionMinimumIdleSize(properties.getMasterConnectionMinimumIdleSize())
+                .setMasterConnectionPoolSize(properties.getMasterConnectionPoolSize())
+                .setSlaveConnectionMinimumIdleSize(properties.getSlaveConnectionMinimumIdleSize())
+                .setSlaveConnectionPoolSize(properties.getSlaveConnectionPoolSize())
+                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
+                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
+                .setFailedSlaveCheckInterval(properties.getFailedSlaveCheckInterval())
+                .setFailedSlaveReconnectionInterval(properties.getFailedSlaveReconnectionInterval())
+                .setReadMode(properties.getReadMode())
+                .setSubscriptionMode(properties.getSubscriptionMode())
+                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval())
+                // SentinelServersConfig
+                .addSentinelAddress(properties.getSentinelAddresses())
+                .setMasterName(properties.getMasterName())
+                .setScanInterval(properties.getScanInterval())
+                .setDatabase(properties.getDatabase());
+    }
+
+    private static void configReplicated(Config config, RedissonClientProperties clientProperties) {
+        ReplicatedServersConfig properties = clientProperties.getReplicated();
+        config.useReplicatedServers()
+                // BaseConfig
+                .setPassword(properties.getPassword())
+                .setSubscriptionsPerConnection(properties.getSubscriptionsPerConnection())
+                .setRetryAttempts(properties.getRetryAttempts())
+                .setRetryInterval(properties.getRetryInterval())
+                .setTimeout(properties.getTimeout())
+                .setClientName(properties.getClientName())
+                .setPingTimeout(properties.getPingTimeout())
+                .setConnectTimeout(properties.getConnectTimeout())
+                .setIdleConnectionTimeout(properties.getIdleConnectionTimeout())
+                .setSslEnableEndpointIdentification(properties.isSslEnableEndpointIdentification())
+                .setSslProvider(properties.getSslProvider())
+                .setSslTruststore(properties.getSslTrustStore())
+                .setSslTruststorePassword(properties.getSslKeystorePassword())
+                .setSslKeystore(properties.getSslKeystore())
+                .setSslKeystorePassword(properties.getSslKeystorePassword())
+                .setPingConnectionInterval(properties.getPingConnectionInterval())
+                .setKeepAlive(properties.isKeepAlive())
+                .setTcpNoDelay(properties.isTcpNoDelay())
+                // BaseMasterSlaveServersConfig
+                .setLoadBalancer(properties.getLoadBalancer().getInstance())
+                .setMasterConnectionMinimumIdleSize(properties.getMasterConnectionMinimumIdleSize())
+                .setMasterConnectionPoolSize(properties.getMasterConnectionPoolSize())
+                .setSlaveConnectionMinimumIdleSize(properties.getSlaveConnectionMinimumIdleSize())
+                .setSlaveConnectionPoolSize(properties.getSlaveConnectionPoolSize())
+                .setSubscriptionConnectionMinimumIdleSize(properties.getSubscriptionConnectionMinimumIdleSize())
+                .setSubscriptionConnectionPoolSize(properties.getSubscriptionConnectionPoolSize())
+                .setFailedSlaveCheckInterval(properties.getFailedSlaveCheckInterval())
+                .setFailedSlaveReconnectionInterval(properties.getFailedSlaveReconnectionInterval())
+                .setReadMode(properties.getReadMode())
+                .setSubscriptionMode(properties.getSubscriptionMode())
+                .setDnsMonitoringInterval(properties.getDnsMonitoringInterval())
+                // ReplicatedServersConfig
+                .addNodeAddress(properties.getNodeAddresses())
+                .setScanInterval(properties.getScanInterval())
+                .setDatabase(properties.getDatabase());
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.github.trang.redisson.autoconfigure;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.redisson.api.RScheduledExecutorService;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartFactoryBean;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.github.trang.redisson.autoconfigure.RedissonSpringProperties.RedissonExecutorProperties;
+import com.github.trang.redisson.autoconfigure.executor.ExecutorInstrumentation;
+import com.github.trang.redisson.autoconfigure.executor.ExecutorStats;
+import com.github.trang.redisson.autoconfigure.executor.ExecutorStatsRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 根据 spring.redisson.executors 中的配置创建 RScheduledExecutorService，并在启动时注册本节点的 worker
+ *
+ * 1. 需要在启动时注册 worker，所以声明为 eager init；
+ * 2. 当前版本的 Redisson 不能注销 worker，只要 RedissonClient 没有关闭，worker 就会继续从 Redis 中取出任务，
+ * 所以将 RedissonClient 注册为依赖本 bean 及 worker 线程池的 bean，关闭时先关闭 RedissonClient 停止取出任务，
+ * 再关闭 worker 线程池并等待已取出的任务执行完成；RedissonClient 关闭后这些任务的结果无法再写回 Redis
+ *
+ * @author trang
+ */
+@Slf4j
+public class RedissonExecutorServiceFactoryBean implements SmartFactoryBean<RScheduledExecutorService>,
+        BeanFactoryAware, DisposableBean {
+
+    private final String name;
+    private final RedissonSpringProperties redissonSpringProperties;
+    private final ObjectProvider<ExecutorStatsRegistry> executorStatsRegistryProvider;
+    private ConfigurableListableBeanFactory beanFactory;
+    private RScheduledExecutorService executorService;
+    /** 未指定 workerExecutor 时创建的线程池，销毁时关闭 */
+    private ExecutorService workerExecutor;
+    private long shutdownTimeout;
+
+    public RedissonExecutorServiceFactoryBean(String name, RedissonSpringProperties redissonSpringProperties,
+                                              ObjectProvider<ExecutorStatsRegistry> executorStatsRegistryProvider) {
+        this.name = name;
+        this.redissonSpringProperties = redissonSpringProperties;
+        this.executorStatsRegistryProvider = executorStatsRegistryProvider;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public synchronized RScheduledExecutorService getObject() {
+        if (executorService == null) {
+            RedissonExecutorProperties properties =
+                    AbstractNamedBeanRegistrar.lookup(redissonSpringProperties.getExecutors(), name);
+            if (properties == null) {
+                throw new IllegalStateException("no redisson executor properties found: spring.redisson.executors." + name);
+            }
+            String clientName = clientName(properties.getClient());
+            RedissonClient redisson = beanFactory.getBean(clientName, RedissonClient.class);
+            // 关闭时先关闭 RedissonClient，再关闭 worker 线程池
+            beanFactory.registerDependentBean(name, clientName);
+            ExecutorStatsRegistry executorStatsRegistry = executorStatsRegistryProvider.getIfAvailable();
+            ExecutorStats stats = executorStatsRegistry != null ? executorStatsRegistry.get(name) : new ExecutorStats();
+            RScheduledExecutorService target = redisson.getExecutorService(name);
+            if (properties.getWorkers() > 0) {
+                ExecutorService executor;
+                if (properties.getWorkerExecutor() != null && !properties.getWorkerExecutor().isEmpty()) {
+                    executor = beanFactory.getBean(properties.getWorkerExecutor(), ExecutorService.class);
+                    beanFactory.registerDependentBean(properties.getWorkerExecutor(), clientName);
+                } else {
+                    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("redisson-executor-" + name + "-");
+                    threadFactory.setDaemon(true);
+                    workerExecutor = Executors.newFixedThreadPool(properties.getWorkers(), threadFactory);
+                    shutdownTimeout = properties.getShutdownTimeout();
+                    executor = workerExecutor;
+                }
+                target.registerWorkers(properties.getWorkers(), ExecutorInstrumentation.wrap(executor, stats));
+                log.info("redisson executor '{}' registered {} worker(s)", name, properties.getWorkers());
+            }
+            executorService = ExecutorInstrumentation.wrap(target, stats);
+        }
+        return executorService;
+    }
+
+    /**
+     * 未指定时使用默认的 RedissonClient，按实例查找其 beanName
+     */
+    private String clientName(String client) {
+        if (client != null && !client.isEmpty()) {
+            return client;
+        }
+        RedissonClient primary = beanFactory.getBean(RedissonClient.class);
+        for (String candidate : beanFactory.getBeanNamesForType(RedissonClient.class)) {
+            if (beanFactory.getBean(candidate) == primary) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("no bean name found for the default RedissonClient");
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return RScheduledExecutorService.class;
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+
+    @Override
+    public boolean isPrototype() {
+        return false;
+    }
+
+    @Override
+    public boolean isEagerInit() {
+        return true;
+    }
+
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        if (workerExecutor == null) {
+            return;
+        }
+        workerExecutor.shutdown();
+        if (!workerExecutor.awaitTermination(shutdownTimeout, MILLISECONDS)) {
+            log.warn("redisson executor '{}' stopped before all tasks were executed", name);
+            workerExecutor.shutdownNow();
+        }
+    }
+
+}
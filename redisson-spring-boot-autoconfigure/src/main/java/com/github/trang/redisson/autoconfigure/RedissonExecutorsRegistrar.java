@@ -0,0 +1,27 @@
+package com.github.trang.redisson.autoconfigure;
+
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+
+/**
+ * 为 spring.redisson.executors 中的每一项注册一个 RScheduledExecutorService，beanName 为其 key
+ *
+ * 属性由 #{@link RedissonExecutorServiceFactoryBean} 在创建时读取
+ *
+ * @author trang
+ */
+class RedissonExecutorsRegistrar extends AbstractNamedBeanRegistrar {
+
+    RedissonExecutorsRegistrar() {
+        super("spring.redisson.executors");
+    }
+
+    @Override
+    protected AbstractBeanDefinition beanDefinition(String name) {
+        return BeanDefinitionBuilder.genericBeanDefinition(RedissonExecutorServiceFactoryBean.class)
+                .addConstructorArgValue(name)
+                .setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR)
+                .getBeanDefinition();
+    }
+
+}
@@ -1,208 +1,137 @@
 package com.github.trang.redisson.autoconfigure;
 
-import java.net.URI;
-import java.util.concurrent.ExecutorService;
-
-import org.redisson.codec.DefaultReferenceCodecProvider;
-import org.redisson.codec.ReferenceCodecProvider;
-import org.redisson.config.ReadMode;
-import org.redisson.config.SslProvider;
-import org.redisson.config.SubscriptionMode;
-import org.redisson.config.TransportMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
-import com.github.trang.redisson.autoconfigure.enums.AddressResolverGroupFactoryType;
-import com.github.trang.redisson.autoconfigure.enums.CodecType;
-import com.github.trang.redisson.autoconfigure.enums.LoadBalancerType;
-import com.github.trang.redisson.autoconfigure.enums.RedissonType;
+import com.github.trang.redisson.autoconfigure.enums.ByteBufAllocatorType;
 
-import io.netty.channel.EventLoopGroup;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * Redisson 自动配置属性
  *
+ * 顶层属性用于创建默认的 RedissonClient，即 beanName 为 'redisson' 的 Primary Bean；
+ * clients 中的每一项都会额外创建一个 RedissonClient，beanName 为其 key
+ *
  * @author trang
  */
 @ConfigurationProperties(prefix = "redisson")
 @Getter
 @Setter
-public class RedissonProperties {
-
-    /** 线程池数量，默认值：当前处理核数量*2 */
-    private int threads = 0;
-    /** Netty 线程池数量，默认值：当前处理核数量*2 */
-    private int nettyThreads = 0;
-    /** Redis 进行序列化和反序列化的类型，默认值：jackson */
-    private CodecType codec = CodecType.JACKSON;
-    /** Codec 注册和获取功能的提供者，默认值：DefaultReferenceCodecProvider */
-    private ReferenceCodecProvider referenceCodecProvider = new DefaultReferenceCodecProvider();
-    /** 单独提供一个线程池实例 */
-    private ExecutorService executor;
-    /** Redisson 参考功能的配置选项，默认值：true */
-    private boolean referenceEnabled = true;
-    /** TransportMode，默认值：NIO */
-    private TransportMode transportMode = TransportMode.NIO;
-    /** 单独指定一个 EventLoopGroup */
-    private EventLoopGroup eventLoopGroup;
-    /** 锁监视器的超时时间，默认值：30000 ms */
-    private long lockWatchdogTimeout = 30 * 1000;
-    /** 是否顺序处理或并发处理 PubSub 消息，默认值：true */
-    private boolean keepPubSubOrder = true;
-    /** Redis 服务端模式，默认值：single */
-    private RedissonType type = RedissonType.SINGLE;
-    /** 地址解析器，默认值：DnsAddressResolverGroupFactory */
-    private AddressResolverGroupFactoryType addressResolverGroupFactory = AddressResolverGroupFactoryType.DEFAULT;
-
-    /** 单节点模式 */
-    @NestedConfigurationProperty
-    private SingleServerConfig single = new SingleServerConfig();
-    /** 集群模式 */
-    @NestedConfigurationProperty
-    private ClusterServersConfig cluster = new ClusterServersConfig();
-    /** 主从模式 */
+public class RedissonProperties extends RedissonClientProperties {
+
+    /** 额外的 RedissonClient，key 为 beanName */
+    private Map<String, RedissonClientProperties> clients = new LinkedHashMap<>();
+
+    /** 锁监控 */
     @NestedConfigurationProperty
-    private MasterSlaveServersConfig masterSlave = new MasterSlaveServersConfig();
-    /** 哨兵模式 */
+    private LockMetricsConfig lockMetrics = new LockMetricsConfig();
+
+    /** 按节点熔断 */
     @NestedConfigurationProperty
-    private SentinelServersConfig sentinel = new SentinelServersConfig();
-    /** 云托管模式 */
+    private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
+    /** 对冲读 */
     @NestedConfigurationProperty
-    private ReplicatedServersConfig replicated = new ReplicatedServersConfig();
+    private HedgedReadsConfig hedgedReads = new HedgedReadsConfig();
 
-    @Getter
-    @Setter
-    private static class BaseConfig {
-        /** 连接空闲超时时间，默认值：10000 ms */
-        private int idleConnectionTimeout = 10000;
-        /** PING 操作的超时时间，默认值：1000 ms */
-        private int pingTimeout = 1000;
-        /** 连接超时时间，默认值：10000 ms */
-        private int connectTimeout = 10000;
-        /** 命令等待超时时间，，默认值：3000 ms */
-        private int timeout = 3000;
-        /** 命令失败重试次数，默认值：3 */
-        private int retryAttempts = 3;
-        /** 命令重试发送时间间隔，默认值：1500 ms */
-        private int retryInterval = 1500;
-        /** Redis 实例密码，默认值：null */
-        private String password = null;
-        /** 单个连接最大订阅数量，默认值：5 */
-        private int subscriptionsPerConnection = 5;
-        /** 客户端名称，默认值：null */
-        private String clientName = null;
-        /** 启用 SSL 终端识别，默认值：true */
-        private boolean sslEnableEndpointIdentification = true;
-        /** SSL 实现方式，默认值：jdk */
-        private SslProvider sslProvider = SslProvider.JDK;
-        /** SSL 信任证书库路径，默认值：null */
-        private URI sslTrustStore = null;
-        /** SSL 信任证书库密码，默认值：null */
-        private String sslTrustStorePassword = null;
-        /** SSL 钥匙库路径，默认值：null */
-        private URI sslKeystore = null;
-        /** SSL 钥匙库密码，默认值：null */
-        private String sslKeystorePassword = null;
-        /** PING 命令的发送时间间隔，默认值：0 ms */
-        private int pingConnectionInterval = 0;
-        /** 开启连接的 TCP KeepAlive 特性，默认值：false */
-        private boolean keepAlive = false;
-        /** 开启连接的 TCP NoDelay 特性，默认值：false */
-        private boolean tcpNoDelay = false;
-    }
+    /** 批量读写工具 */
+    @NestedConfigurationProperty
+    private BulkOperationsConfig bulkOperations = new BulkOperationsConfig();
 
-    @Getter
-    @Setter
-    private static class BaseMasterSlaveServersConfig extends BaseConfig {
-        /** 负载均衡算法，默认值：round_robin */
-        private LoadBalancerType loadBalancer = LoadBalancerType.ROUND_ROBIN;
-        /** 主节点最小空闲连接数，默认值：32 */
-        private int masterConnectionMinimumIdleSize = 32;
-        /** 主节点连接池大小，默认值：64 */
-        private int masterConnectionPoolSize = 64;
-        /** 从节点最小空闲连接数，默认值：32 */
-        private int slaveConnectionMinimumIdleSize = 32;
-        /** 从节点连接池大小，默认值：64 */
-        private int slaveConnectionPoolSize = 64;
-        /** 当第一个 Redis 命令执行失败的时间间隔到达该值时，从节点将被排除在可用节点的内部列表中，默认值：60000 ms */
-        private int failedSlaveCheckInterval = 60000;
-        /** 当节点被排除在可用服务器的内部列表中时，从节点重新连接尝试的间隔，默认值：3000 ms */
-        private int failedSlaveReconnectionInterval = 3000;
-        /** 读取操作的负载均衡模式，默认值：slave */
-        private ReadMode readMode = ReadMode.SLAVE;
-        /** 订阅操作的负载均衡模式，默认值：master */
-        private SubscriptionMode subscriptionMode = SubscriptionMode.MASTER;
-        /** 从节点发布和订阅连接的最小空闲连接数，默认值：1 */
-        private int subscriptionConnectionMinimumIdleSize = 1;
-        /** 从节点发布和订阅连接池大小，默认值：50 */
-        private int subscriptionConnectionPoolSize = 50;
-        /** DNS 监测时间间隔，默认值：5000 ms */
-        private long dnsMonitoringInterval = 5000;
-    }
+    /** Netty ByteBuf 分配器，对整个 JVM 生效 */
+    @NestedConfigurationProperty
+    private NettyAllocatorConfig nettyAllocator = new NettyAllocatorConfig();
 
     @Getter
     @Setter
-    public static class SingleServerConfig extends BaseConfig {
-        /** 节点地址，格式：redis://host:port */
-        private String address = "redis://127.0.0.1:6379";
-        /** 数据库编号，默认值：0 */
-        private int database = 0;
-        /** 最小空闲连接数，默认值：32 */
-        private int connectionMinimumIdleSize = 32;
-        /** 连接池大小，默认值：64 */
-        private int connectionPoolSize = 64;
-        /** 发布和订阅连接的最小空闲连接数，默认值：1 */
-        private int subscriptionConnectionMinimumIdleSize = 1;
-        /** 发布和订阅连接池大小，默认值：50 */
-        private int subscriptionConnectionPoolSize = 50;
-        /** DNS 监测时间间隔，默认值：5000 ms */
-        private long dnsMonitoringInterval = 5000L;
+    public static class LockMetricsConfig {
+        /** 是否开启锁监控，默认值：false */
+        private boolean enabled = false;
+        /** 锁名称的分组规则，支持 * 通配符，如 order:*，默认值：空 */
+        private List<String> patterns = new ArrayList<>();
+        /** 未匹配分组规则时单独统计的锁名称上限，超出后合并统计到 '*'，默认值：1000 */
+        private int maxTrackedNames = 1000;
+        /** 端点中展示竞争最激烈的锁数量，默认值：20 */
+        private int top = 20;
     }
 
     @Getter
     @Setter
-    public static class ClusterServersConfig extends BaseMasterSlaveServersConfig {
-        /** 集群节点地址，格式：redis://host:port */
-        private String[] nodeAddresses;
-        /** 集群扫描间隔时间，默认值：1000 ms */
-        private int scanInterval = 1000;
+    public static class CircuitBreakerConfig {
+        /** 是否开启熔断，开启后节点熔断期间调用立即失败，缓存视为未命中、跳过写入，默认值：false */
+        private boolean enabled = false;
+        /** 失败率阈值，慢调用也计为失败，默认值：50 % */
+        private int failureRateThreshold = 50;
+        /** 慢调用阈值，0 表示不统计慢调用，默认值：1000 ms */
+        private long slowCallThreshold = 1000;
+        /** 统计窗口内的最少调用次数，不足时不熔断，默认值：20 */
+        private int minimumCalls = 20;
+        /** 统计窗口，默认值：10000 ms */
+        private long window = 10000;
+        /** 熔断持续时间，之后放行一个探测调用，成功则恢复，默认值：30000 ms */
+        private long openDuration = 30000;
     }
 
     @Getter
     @Setter
-    public static class MasterSlaveServersConfig extends BaseMasterSlaveServersConfig {
-        /** 主节点地址，格式：redis://host:port */
-        private String masterAddress;
-        /** 从节点地址，格式：redis://host:port */
-        private String[] slaveAddresses;
-        /** 数据库编号，默认值：0 */
-        private int database = 0;
+    public static class HedgedReadsConfig {
+        /** 是否开启对冲读，读命令超过延迟仍未返回时再发送一次，取先返回的结果，需要 readMode 为 SLAVE 或 MASTER_SLAVE，默认值：false */
+        private boolean enabled = false;
+        /** 对冲延迟，指定 percentile 时为下限，默认值：50 ms */
+        private long delay = 50;
+        /** 使用最近读取耗时的分位值作为对冲延迟，如 95，0 表示使用固定延迟，默认值：0 */
+        private int percentile = 0;
+        /** 计算分位值的样本数，默认值：1000 */
+        private int sampleSize = 1000;
+        /** 对冲次数与读取次数的最大比值，默认值：0.05 */
+        private double maxRatio = 0.05;
+        /** 对冲额度的最大积累数量，即短时间内最多连续对冲的次数，默认值：10 */
+        private int burst = 10;
     }
 
     @Getter
     @Setter
-    public static class SentinelServersConfig extends BaseMasterSlaveServersConfig {
-        /** 哨兵节点地址，格式：redis://host:port */
-        private String[] sentinelAddresses;
-        /** 主服务器的名称，默认值：null */
-        private String masterName = null;
-        /** 哨兵扫描间隔时间，默认值：1000 ms */
-        private int scanInterval = 1000;
-        /** 数据库编号，默认值：0 */
-        private int database = 0;
+    public static class BulkOperationsConfig {
+        /** 是否声明 RedissonBulkOperations，默认值：false */
+        private boolean enabled = false;
     }
 
+    /**
+     * 启动时转换为 io.netty.allocator.* 系统属性，需要在 Netty 初始化之前设置，已通过 -D 指定的系统属性优先；
+     * 未设置的属性使用 Netty 的默认值
+     */
     @Getter
     @Setter
-    public static class ReplicatedServersConfig extends BaseMasterSlaveServersConfig {
-        /** 集群节点地址，格式：redis://host:port */
-        private String[] nodeAddresses;
-        /** 主节点变化扫描间隔时间，默认值：1000 ms */
-        private int scanInterval = 1000;
-        /** 数据库编号，默认值：0 */
-        private int database = 0;
+    public static class NettyAllocatorConfig {
+        /** 分配器类型，对应 io.netty.allocator.type */
+        private ByteBufAllocatorType type;
+        /** direct arena 数量，对应 io.netty.allocator.numDirectArenas，Netty 默认值：处理器核数量*2 */
+        private Integer numDirectArenas;
+        /** heap arena 数量，对应 io.netty.allocator.numHeapArenas，Netty 默认值：处理器核数量*2 */
+        private Integer numHeapArenas;
+        /** 页大小，对应 io.netty.allocator.pageSize，Netty 默认值：8192 */
+        private Integer pageSize;
+        /** chunk 大小为 pageSize << maxOrder，对应 io.netty.allocator.maxOrder，Netty 默认值：11 */
+        private Integer maxOrder;
+        /** 线程缓存中 tiny 内存块的数量，对应 io.netty.allocator.tinyCacheSize，Netty 默认值：512 */
+        private Integer tinyCacheSize;
+        /** 线程缓存中 small 内存块的数量，对应 io.netty.allocator.smallCacheSize，Netty 默认值：256 */
+        private Integer smallCacheSize;
+        /** 线程缓存中 normal 内存块的数量，对应 io.netty.allocator.normalCacheSize，Netty 默认值：64 */
+        private Integer normalCacheSize;
+        /** 是否为所有线程开启线程缓存，false 时只有 Netty 线程开启，对应 io.netty.allocator.useCacheForAllThreads，Netty 默认值：true */
+        private Boolean useCacheForAllThreads;
+        /** Netty 可使用的最大 direct 内存，单位：byte，对应 io.netty.maxDirectMemory，Netty 默认值：-XX:MaxDirectMemorySize */
+        private Long maxDirectMemory;
+        /** 是否通过 actuator 的 metrics 端点展示分配器的内存使用情况，默认值：true */
+        private boolean metricsEnabled = true;
     }
 
-}
\ No newline at end of file
+}
@@ -10,9 +10,14 @@ import org.redisson.api.RedissonClient;
 import org.redisson.spring.cache.CacheConfig;
 import org.redisson.spring.cache.RedissonSpringCacheManager;
 import org.redisson.spring.transaction.RedissonTransactionManager;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -27,10 +32,30 @@ import org.springframework.cache.interceptor.CacheAspectSupport;
 import org.springframework.cache.support.CompositeCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import com.github.trang.autoconfigure.Customizer;
 import com.github.trang.redisson.autoconfigure.RedissonSpringProperties.RedissonCacheManagerProperties;
+import com.github.trang.redisson.autoconfigure.RedissonSpringProperties.RedissonScriptProperties;
+import com.github.trang.redisson.autoconfigure.breaker.CircuitBreakerRegistry;
+import com.github.trang.redisson.autoconfigure.cache.AsyncCacheInterceptor;
+import com.github.trang.redisson.autoconfigure.cache.AsyncCacheable;
+import com.github.trang.redisson.autoconfigure.cache.CacheBloomFilters;
+import com.github.trang.redisson.autoconfigure.cache.DecoratingRedissonSpringCacheManager;
+import com.github.trang.redisson.autoconfigure.cache.FailFastAsyncCache;
+import com.github.trang.redisson.autoconfigure.cache.FailFastCache;
+import com.github.trang.redisson.autoconfigure.cache.TransactionAwareAsyncCache;
+import com.github.trang.redisson.autoconfigure.cache.TransactionAwareRedissonCache;
+import com.github.trang.redisson.autoconfigure.executor.ExecutorMetrics;
+import com.github.trang.redisson.autoconfigure.executor.ExecutorStatsRegistry;
+import com.github.trang.redisson.autoconfigure.pubsub.RedissonListener;
+import com.github.trang.redisson.autoconfigure.pubsub.RedissonListenerAnnotationBeanPostProcessor;
+import com.github.trang.redisson.autoconfigure.pubsub.RedissonListenerContainer;
+import com.github.trang.redisson.autoconfigure.script.RedissonScriptRegistry;
+import com.github.trang.redisson.autoconfigure.stream.StreamConsumerContainer;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -44,6 +69,7 @@ import lombok.extern.slf4j.Slf4j;
 @ConditionalOnBean(RedissonClient.class)
 @AutoConfigureAfter({CacheAutoConfiguration.class, TransactionAutoConfiguration.class})
 @EnableConfigurationProperties(RedissonSpringProperties.class)
+@Import(RedissonExecutorsRegistrar.class)
 @Slf4j
 public class RedissonSpringAutoConfiguration {
 
@@ -68,7 +94,10 @@ public class RedissonSpringAutoConfiguration {
      * 为什么不先加载本类呢？因为 CacheAutoConfiguration 中有一些功能是我们需要的，如果先加载本类，那么 RedissonSpringCacheManager注册成功后，
      * CacheAutoConfiguration 将不会加载，因为其加载条件是不存在 CacheManager
      *
-     * @param redisson redisson 客户端
+     * @param redisson    redisson 客户端
+     * @param beanFactory            用于获取 spring.redisson.cache-manager.client 指定的 RedissonClient
+     * @param circuitBreakerProvider 熔断器
+     * @param bloomFiltersProvider   布隆过滤器
      * @return RedissonSpringCacheManager cacheManager
      */
     @Bean
@@ -76,9 +105,12 @@ public class RedissonSpringAutoConfiguration {
     @ConditionalOnBean(CacheAspectSupport.class)
     @ConditionalOnMissingBean(RedissonSpringCacheManager.class)
     @ConditionalOnProperty(prefix = "spring.redisson.cache-manager", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public RedissonSpringCacheManager cacheManager(RedissonClient redisson) {
+    public RedissonSpringCacheManager cacheManager(RedissonClient redisson, BeanFactory beanFactory,
+                                                   ObjectProvider<CircuitBreakerRegistry> circuitBreakerProvider,
+                                                   ObjectProvider<CacheBloomFilters> bloomFiltersProvider) {
         log.info("redisson cache-manager init...");
         RedissonCacheManagerProperties redissonCacheManagerProperties = redissonSpringProperties.getCacheManager();
+        RedissonClient cacheClient = cacheClient(redisson, beanFactory);
         // 获取 ConfigMap
         // CacheConfig:
         //   ttl         过期时间，key 写入一定时间后删除，相当于 GuavaCache 的 expireAfterWrite
@@ -86,7 +118,7 @@ public class RedissonSpringAutoConfiguration {
         //   maxIdleTime 最大数量，达到一定数量后删除一部分 key，基于 LRU 算法
         Map<String, CacheConfig> config = redissonCacheManagerProperties.getConfigs();
         // 创建 CacheManager，ConfigMap 会转换为 Cache
-        RedissonSpringCacheManager redissonSpringCacheManager = new RedissonSpringCacheManager(redisson, config);
+        DecoratingRedissonSpringCacheManager redissonSpringCacheManager = new DecoratingRedissonSpringCacheManager(cacheClient, config);
         // RedissonSpringCacheManager 中的 dynamic 属性默认为 true，即获取不存在的 Cache 时，Redisson 创建一个永不过期的 Cache 以供使用
         // 个人认为这样不合理，会导致滥用缓存，所以 starter 中 dynamic 的默认值为 false，当获取不存在的 Cache 时会抛出异常
         // 当然，你也可以手动开启 dynamic 功能
@@ -100,11 +132,50 @@ public class RedissonSpringAutoConfiguration {
             redissonSpringCacheManager.setConfigLocation(redissonCacheManagerProperties.getConfigLocation());
         }
         redissonSpringCacheManager.setAllowNullValues(redissonCacheManagerProperties.isAllowNullValues());
+        // 存储方式为 bucket 的 Cache，每个缓存项对应一个独立的 key，直接使用 Redis 原生的过期机制
+        redissonSpringCacheManager.setStorageType(redissonCacheManagerProperties.getStorageType());
+        redissonSpringCacheManager.setStorageTypes(redissonCacheManagerProperties.getStorageTypes());
+        redissonSpringCacheManager.setHashTagCaches(redissonCacheManagerProperties.getHashTagCaches());
+        // 事务内的缓存写操作在提交后批量发送，回滚时丢弃
+        if (redissonCacheManagerProperties.isTransactionAware()) {
+            redissonSpringCacheManager.addDecorator(cache -> new TransactionAwareRedissonCache(cache, cacheClient,
+                    redissonSpringCacheManager.getCacheConfig(cache.getName())),
+                    cache -> new TransactionAwareAsyncCache(cache, cacheClient));
+        }
+        // 布隆过滤器判断一定不存在的 key 不再访问 Redis，需要在事务感知之后装饰，保证事务内写入的 key 立即添加到布隆过滤器
+        CacheBloomFilters bloomFilters = bloomFiltersProvider.getIfAvailable();
+        if (bloomFilters != null && !redissonCacheManagerProperties.getBloomFilters().isEmpty()) {
+            redissonSpringCacheManager.addDecorator(bloomFilters::decorate, bloomFilters::decorate);
+        }
+        // 开启熔断时，Redis 异常视为缓存未命中，跳过写入
+        if (circuitBreakerProvider.getIfAvailable() != null) {
+            redissonSpringCacheManager.addDecorator(FailFastCache::new, FailFastAsyncCache::new);
+        }
         // 用户自定义配置，拥有最高优先级
         redissonSpringCacheManagerCustomizers.forEach(customizer -> customizer.customize(redissonSpringCacheManager));
         return redissonSpringCacheManager;
     }
 
+    /**
+     * 声明各个 Cache 的布隆过滤器，可以注入后添加已存在的 key
+     *
+     * @param redisson    redisson 客户端
+     * @param beanFactory 用于获取 spring.redisson.cache-manager.client 指定的 RedissonClient
+     * @return CacheBloomFilters cacheBloomFilters
+     */
+    @Bean
+    @ConditionalOnClass(CacheManager.class)
+    @ConditionalOnMissingBean(CacheBloomFilters.class)
+    @ConditionalOnProperty(prefix = "spring.redisson.cache-manager", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheBloomFilters cacheBloomFilters(RedissonClient redisson, BeanFactory beanFactory) {
+        CacheBloomFilters bloomFilters = new CacheBloomFilters(redissonSpringProperties.getCacheManager().isAllowNullValues());
+        RedissonClient cacheClient = cacheClient(redisson, beanFactory);
+        redissonSpringProperties.getCacheManager().getBloomFilters().forEach((cacheName, properties) ->
+                bloomFilters.register(cacheName, cacheClient, properties.getExpectedInsertions(),
+                        properties.getFalseProbability(), properties.getRefreshInterval(), properties.isConfirmAbsent()));
+        return bloomFilters;
+    }
+
     /**
      * 声明 CompositeCacheManager
      *
@@ -147,4 +218,139 @@ public class RedissonSpringAutoConfiguration {
         return new RedissonTransactionManager(redisson);
     }
 
-}
\ No newline at end of file
+    /**
+     * 指定了 client 时，使用 redisson.clients 中对应的 RedissonClient，与其它业务隔离连接池和线程
+     */
+    private RedissonClient cacheClient(RedissonClient redisson, BeanFactory beanFactory) {
+        String client = redissonSpringProperties.getCacheManager().getClient();
+        return client != null && !client.isEmpty() ? beanFactory.getBean(client, RedissonClient.class) : redisson;
+    }
+
+    /**
+     * 声明处理 #{@link AsyncCacheable} 的 Advisor
+     *
+     * 1. 声明为基础设施 Bean，@EnableCaching 注册的 InfrastructureAdvisorAutoProxyCreator 也会应用该 Advisor
+     * 2. 未命中时在 spring.redisson.cache-manager.async-executor 指定的线程池中调用方法，默认使用 redissonAsyncCacheExecutor，
+     * 不使用 ForkJoinPool.commonPool()，避免与 parallelStream 等共用线程
+     * 3. 用户自行声明 RedissonSpringCacheManager 时没有 DecoratingRedissonSpringCacheManager，@AsyncCacheable 不生效，直接调用方法；
+     * 这里不使用 @ConditionalOnBean，因为内部配置类先于外部类的 @Bean 方法解析，判断时 CacheManager 尚未注册
+     */
+    @Configuration
+    @ConditionalOnClass(CacheManager.class)
+    @ConditionalOnProperty(prefix = "spring.redisson.cache-manager", name = "async-enabled", havingValue = "true")
+    static class AsyncCacheConfiguration {
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        public Advisor redissonAsyncCacheAdvisor(BeanFactory beanFactory, RedissonSpringProperties redissonSpringProperties) {
+            AsyncCacheInterceptor interceptor = new AsyncCacheInterceptor(beanFactory,
+                    redissonSpringProperties.getCacheManager().getAsyncExecutor());
+            return new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(AsyncCacheable.class), interceptor);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "redissonAsyncCacheExecutor")
+        public ThreadPoolTaskExecutor redissonAsyncCacheExecutor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(Runtime.getRuntime().availableProcessors());
+            executor.setAllowCoreThreadTimeOut(true);
+            executor.setThreadNamePrefix("redisson-async-cache-");
+            executor.setDaemon(true);
+            return executor;
+        }
+
+    }
+
+    /**
+     * 声明 #{@link RedissonListener} 的容器
+     *
+     * BeanPostProcessor 需要声明为 static，避免提前初始化配置类
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "spring.redisson.listener", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ListenerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(RedissonListenerAnnotationBeanPostProcessor.class)
+        public static RedissonListenerAnnotationBeanPostProcessor redissonListenerAnnotationBeanPostProcessor() {
+            return new RedissonListenerAnnotationBeanPostProcessor();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(RedissonListenerContainer.class)
+        public RedissonListenerContainer redissonListenerContainer(BeanFactory beanFactory,
+                                                                   RedissonSpringProperties redissonSpringProperties) {
+            return new RedissonListenerContainer(beanFactory, redissonSpringProperties.getListener().getShutdownTimeout());
+        }
+
+    }
+
+    /**
+     * 声明 Redis Stream 消费组容器，消费者通过 spring.redisson.stream.consumers.<name> 配置
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "spring.redisson.stream", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class StreamConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(StreamConsumerContainer.class)
+        public StreamConsumerContainer redissonStreamConsumerContainer(BeanFactory beanFactory,
+                                                                       RedissonSpringProperties redissonSpringProperties) {
+            return new StreamConsumerContainer(beanFactory, redissonSpringProperties.getStream().getConsumers(),
+                    redissonSpringProperties.getStream().getShutdownTimeout());
+        }
+
+    }
+
+    /**
+     * 声明 Lua 脚本注册表，脚本来自 spring.redisson.script.scripts 及 spring.redisson.script.locations 中的文件
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "spring.redisson.script", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ScriptConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(RedissonScriptRegistry.class)
+        public RedissonScriptRegistry redissonScriptRegistry(RedissonClient redisson, BeanFactory beanFactory,
+                                                             RedissonSpringProperties redissonSpringProperties) {
+            RedissonScriptProperties properties = redissonSpringProperties.getScript();
+            RedissonClient scriptClient = properties.getClient() != null && !properties.getClient().isEmpty()
+                    ? beanFactory.getBean(properties.getClient(), RedissonClient.class) : redisson;
+            // 脚本文件由 RedissonScriptRegistry 在初始化时读取，配置中的脚本优先
+            RedissonScriptRegistry registry = new RedissonScriptRegistry(scriptClient, properties.getScripts());
+            registry.setLocations(properties.getLocations());
+            return registry;
+        }
+
+    }
+
+    /**
+     * 分布式 RScheduledExecutorService 的统计，RScheduledExecutorService 由 #{@link RedissonExecutorsRegistrar} 注册
+     */
+    @Configuration
+    static class ExecutorConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(ExecutorStatsRegistry.class)
+        public ExecutorStatsRegistry redissonExecutorStatsRegistry() {
+            return new ExecutorStatsRegistry();
+        }
+
+        /**
+         * 通过 actuator 的 metrics 端点展示，依赖 spring-boot-actuator
+         */
+        @Configuration
+        @ConditionalOnClass(PublicMetrics.class)
+        static class ExecutorMetricsConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean(ExecutorMetrics.class)
+            public ExecutorMetrics redissonExecutorMetrics(ExecutorStatsRegistry executorStatsRegistry) {
+                return new ExecutorMetrics(executorStatsRegistry);
+            }
+
+        }
+
+    }
+
+}
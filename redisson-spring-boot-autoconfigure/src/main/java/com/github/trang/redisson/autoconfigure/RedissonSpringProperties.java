@@ -1,12 +1,17 @@
 package com.github.trang.redisson.autoconfigure;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.redisson.spring.cache.CacheConfig;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import com.github.trang.redisson.autoconfigure.enums.CacheStorageType;
 import com.github.trang.redisson.autoconfigure.enums.CodecType;
 
 import lombok.Getter;
@@ -30,11 +35,28 @@ public class RedissonSpringProperties {
     @NestedConfigurationProperty
     private RedissonTransactionManagerProperties transaction = new RedissonTransactionManagerProperties();
 
+    /** @RedissonListener 容器配置 */
+    @NestedConfigurationProperty
+    private RedissonListenerProperties listener = new RedissonListenerProperties();
+
+    /** Redis Stream 消费组容器配置 */
+    @NestedConfigurationProperty
+    private RedissonStreamProperties stream = new RedissonStreamProperties();
+
+    /** Lua 脚本注册表配置 */
+    @NestedConfigurationProperty
+    private RedissonScriptProperties script = new RedissonScriptProperties();
+
+    /** 分布式 RScheduledExecutorService，key 为名称，同时也是 beanName */
+    private Map<String, RedissonExecutorProperties> executors = new LinkedHashMap<>();
+
     @Getter
     @Setter
     public static class RedissonCacheManagerProperties {
         /** 是否开启 RedissonSpringCacheManager，默认值：true */
         private boolean enabled = true;
+        /** 使用的 RedissonClient 的 beanName，对应 redisson.clients 中的 key，默认值：null，即使用默认的 RedissonClient */
+        private String client;
         /** 是否缓存 null 值，默认值：true */
         private boolean allowNullValues = true;
         /** 序列化类型 */
@@ -47,6 +69,33 @@ public class RedissonSpringProperties {
         private String configLocation;
         /** 是否回滚到 NoOpCacheManager，默认值：true */
         private boolean fallbackToNoOpCache = true;
+        /** 是否感知事务，开启后事务内的缓存写操作在提交后批量发送，回滚时丢弃，默认值：false */
+        private boolean transactionAware = false;
+        /** 缓存存储方式，默认值：map */
+        private CacheStorageType storageType = CacheStorageType.MAP;
+        /** 单独指定某些 Cache 的存储方式，key 为 cacheName */
+        private Map<String, CacheStorageType> storageTypes = new HashMap<>();
+        /** 使用 hash tag 的 Cache，集群模式下这些 Cache 的所有 key 会分配到同一个 slot 即同一个节点，会形成热点，只适合小 Cache，仅对 bucket 存储方式生效 */
+        private List<String> hashTagCaches = new ArrayList<>();
+        /** 是否开启 @AsyncCacheable，缓存返回值为 CompletableFuture 的方法，默认值：false */
+        private boolean asyncEnabled = false;
+        /** @AsyncCacheable 未命中时调用方法的线程池（Executor）的 beanName，默认值：redissonAsyncCacheExecutor */
+        private String asyncExecutor = "redissonAsyncCacheExecutor";
+        /** 使用布隆过滤器拦截一定不存在的 key 的 Cache，key 为 cacheName，需要通过 CacheBloomFilters 添加所有已存在的 key */
+        private Map<String, CacheBloomFilterProperties> bloomFilters = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class CacheBloomFilterProperties {
+        /** 预计插入数量，与误判率共同决定位图大小，约为 expectedInsertions * ln(1 / falseProbability) / (ln2)^2 位，默认值：1000000 */
+        private long expectedInsertions = 1000000;
+        /** 误判率，默认值：0.01，即默认的位图大小约为 1.2 MB */
+        private double falseProbability = 0.01;
+        /** 从 Redis 加载整个位图到本地快照的间隔，每次每个节点都会读取整个位图，位图较大时不宜过短；其它节点添加的 key 通过 pub/sub 实时同步，默认值：60000 ms */
+        private long refreshInterval = 60000;
+        /** 本地快照判断不存在时是否再读取一次 Redis 中的位图，开启后每个不存在的 key 都会多一次网络请求，默认值：false */
+        private boolean confirmAbsent = false;
     }
 
     @Getter
@@ -56,4 +105,87 @@ public class RedissonSpringProperties {
         private boolean enabled = false;
     }
 
-}
\ No newline at end of file
+    @Getter
+    @Setter
+    public static class RedissonListenerProperties {
+        /** 是否开启 @RedissonListener，默认值：true */
+        private boolean enabled = true;
+        /** 关闭时等待已接收消息处理完成的最长时间，默认值：10000 ms */
+        private long shutdownTimeout = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class RedissonStreamProperties {
+        /** 是否开启 Redis Stream 消费组容器，默认值：true */
+        private boolean enabled = true;
+        /** 关闭时等待已读取消息处理完成的最长时间，默认值：10000 ms */
+        private long shutdownTimeout = 10000;
+        /** 消费者配置，key 为名称 */
+        private Map<String, StreamConsumerProperties> consumers = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class StreamConsumerProperties {
+        /** 使用的 RedissonClient 的 beanName，默认值：null，即使用默认的 RedissonClient */
+        private String client;
+        /** stream 名称，默认值：null，即使用消费者名称 */
+        private String stream;
+        /** 消费组名称 */
+        private String group;
+        /** 消息处理器的 beanName，需要实现 StreamMessageHandler，默认值：null，即使用消费者名称 */
+        private String handler;
+        /** 消费组不存在时创建，指定起始消息 ID，默认值：$，即只消费创建之后的消息 */
+        private String startId = "$";
+        /** 消费者名称前缀，默认值：null，即使用 pid@hostname */
+        private String consumerName;
+        /** 消费者数量，每个消费者对应一个读取线程，默认值：1 */
+        private int consumers = 1;
+        /** 每次读取的最大消息数，默认值：100 */
+        private int batchSize = 100;
+        /** 没有消息时的轮询间隔，连续没有消息时翻倍，默认值：100 ms */
+        private long pollInterval = 100;
+        /** 没有消息时的最大轮询间隔，默认值：2000 ms */
+        private long maxPollInterval = 2000;
+        /** 处理消息的线程数，默认值：1 */
+        private int threads = 1;
+        /** 等待处理的最大批次数，超过后暂停读取，默认值：4 */
+        private int queueCapacity = 4;
+        /** 认领 pending 消息的间隔，默认值：30000 ms */
+        private long claimInterval = 30000;
+        /** pending 消息空闲超过该时间后被认领，默认值：60000 ms */
+        private long minIdleTime = 60000;
+        /** 最大投递次数，达到后不再认领，转入死信 stream 并确认，0 表示不限制，默认值：10 */
+        private int maxDeliveries = 10;
+        /** 死信 stream 名称，默认值：null，即使用 stream 名称 + ":dead-letter" */
+        private String deadLetterStream;
+    }
+
+    @Getter
+    @Setter
+    public static class RedissonScriptProperties {
+        /** 是否开启 Lua 脚本注册表，默认值：true */
+        private boolean enabled = true;
+        /** 使用的 RedissonClient 的 beanName，默认值：null，即使用默认的 RedissonClient */
+        private String client;
+        /** 脚本内容，key 为脚本名称 */
+        private Map<String, String> scripts = new HashMap<>();
+        /** 脚本文件路径，支持通配符，文件名（不含扩展名）为脚本名称，默认值：classpath*:redisson/scripts/*.lua */
+        private List<String> locations = new ArrayList<>(Collections.singletonList("classpath*:redisson/scripts/*.lua"));
+    }
+
+    @Getter
+    @Setter
+    public static class RedissonExecutorProperties {
+        /** 使用的 RedissonClient 的 beanName，默认值：null，即使用默认的 RedissonClient */
+        private String client;
+        /** 本节点注册的 worker 数量，0 表示本节点只提交任务，默认值：0 */
+        private int workers = 0;
+        /** 执行任务的线程池（ExecutorService）的 beanName，默认值：null，即创建一个线程数为 workers 的线程池 */
+        private String workerExecutor;
+        /** 关闭时等待已取出的任务执行完成的最长时间，仅对未指定 workerExecutor 时创建的线程池生效，单位：毫秒，默认值：10000 */
+        private long shutdownTimeout = 10000;
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.github.trang.redisson.autoconfigure.breaker;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 单个 Redis 节点的熔断器
+ *
+ * CLOSED：正常放行，统计窗口内调用次数达到 minimumCalls 且失败率（慢调用计为失败）达到阈值时进入 OPEN；
+ * OPEN：拒绝所有调用，经过 openDuration 后进入 HALF_OPEN；
+ * HALF_OPEN：同一时间只放行一个探测调用，成功则回到 CLOSED，失败则重新进入 OPEN；
+ * 探测调用通过 #{@link Permit} 标记，熔断前放行、在 HALF_OPEN 期间才完成的调用不会被当作探测结果
+ *
+ * @author trang
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String node;
+    private final int failureRateThreshold;
+    private final long slowCallThreshold;
+    private final int minimumCalls;
+    private final long window;
+    private final long openDuration;
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+    private long windowStart = System.currentTimeMillis();
+    private int calls;
+    private int failures;
+
+    /**
+     * @param node                 节点地址
+     * @param failureRateThreshold 失败率阈值，单位：%
+     * @param slowCallThreshold    慢调用阈值，单位：ms
+     * @param minimumCalls         统计窗口内的最少调用次数，不足时不熔断
+     * @param window               统计窗口，单位：ms
+     * @param openDuration         熔断持续时间，单位：ms
+     */
+    public CircuitBreaker(String node, int failureRateThreshold, long slowCallThreshold, int minimumCalls,
+                          long window, long openDuration) {
+        this.node = node;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThreshold = slowCallThreshold;
+        this.minimumCalls = minimumCalls;
+        this.window = window;
+        this.openDuration = openDuration;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 是否放行本次调用，放行后必须以返回的 Permit 调用 #{@link #onSuccess(Permit, long)} 或 #{@link #onFailure(Permit)}
+     *
+     * @return 放行时返回 Permit，HALF_OPEN 下放行的探测调用 #{@link Permit#isProbe()} 为 true；拒绝时返回 null
+     */
+    public Permit tryAcquire() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return Permit.NORMAL;
+        }
+        if (current == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDuration) {
+                return null;
+            }
+            synchronized (this) {
+                if (state == State.OPEN) {
+                    state = State.HALF_OPEN;
+                    log.info("redis node [{}] circuit breaker half-open, probing", node);
+                }
+            }
+        }
+        return probing.compareAndSet(false, true) ? Permit.PROBE : null;
+    }
+
+    /**
+     * 记录调用成功，耗时超过慢调用阈值时计为失败
+     *
+     * @param permit        #{@link #tryAcquire()} 返回的 Permit
+     * @param elapsedMillis 耗时，单位：ms
+     */
+    public void onSuccess(Permit permit, long elapsedMillis) {
+        record(permit, slowCallThreshold > 0 && elapsedMillis >= slowCallThreshold);
+    }
+
+    /**
+     * 记录调用失败
+     *
+     * @param permit #{@link #tryAcquire()} 返回的 Permit
+     */
+    public void onFailure(Permit permit) {
+        record(permit, true);
+    }
+
+    private synchronized void record(Permit permit, boolean failed) {
+        if (permit.isProbe()) {
+            probing.set(false);
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            if (failed) {
+                log.warn("redis node [{}] circuit breaker probe failed, reopened", node);
+                open();
+            } else {
+                close();
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            // 熔断前已放行的调用，不影响探测结果
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - windowStart >= window) {
+            windowStart = now;
+            calls = 0;
+            failures = 0;
+        }
+        calls++;
+        if (failed) {
+            failures++;
+        }
+        if (calls >= minimumCalls && failures * 100L >= (long) failureRateThreshold * calls) {
+            log.warn("redis node [{}] circuit breaker opened, {} of {} calls failed", node, failures, calls);
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowStart = System.currentTimeMillis();
+        calls = 0;
+        failures = 0;
+        log.info("redis node [{}] circuit breaker closed", node);
+    }
+
+    /**
+     * 放行凭证，区分普通调用与 HALF_OPEN 下的探测调用
+     */
+    public static final class Permit {
+
+        private static final Permit NORMAL = new Permit(false);
+        private static final Permit PROBE = new Permit(true);
+
+        private final boolean probe;
+
+        private Permit(boolean probe) {
+            this.probe = probe;
+        }
+
+        public boolean isProbe() {
+            return probe;
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.github.trang.redisson.autoconfigure.breaker;
+
+import static com.github.trang.redisson.autoconfigure.support.Proxies.invoke;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.redisson.api.RBlockingQueue;
+import org.redisson.api.RCountDownLatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RObject;
+import org.redisson.api.RPermitExpirableSemaphore;
+import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RSemaphore;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.misc.RedissonPromise;
+
+import com.github.trang.redisson.autoconfigure.breaker.CircuitBreaker.Permit;
+import com.github.trang.redisson.autoconfigure.support.Proxies;
+
+/**
+ * 为 RedissonClient 获取到的对象增加熔断
+ *
+ * 仅对名称为第一个参数、返回 RObject 的 getXxx 方法生效，对象的每次调用按 key 所在节点的熔断器放行或拒绝，
+ * 抛出 RedisException（包括超时、连接失败）或耗时超过慢调用阈值时计为失败；
+ * 锁、信号量、阻塞队列等对象的调用耗时包含等待时间，无法区分节点是否异常，不做熔断
+ *
+ * @author trang
+ */
+public final class CircuitBreakerInstrumentation {
+
+    /** 不做熔断的类型 */
+    private static final List<Class<?>> EXCLUDED_TYPES = Arrays.asList(RLock.class, RReadWriteLock.class,
+            RSemaphore.class, RPermitExpirableSemaphore.class, RCountDownLatch.class, RBlockingQueue.class);
+    /** 不访问 Redis 或返回延迟访问 Redis 的视图、迭代器的方法 */
+    private static final Set<String> LOCAL_METHODS = new HashSet<>(Arrays.asList("getName", "getCodec",
+            "keySet", "values", "entrySet", "iterator", "listIterator", "stream"));
+
+    private CircuitBreakerInstrumentation() {
+    }
+
+    /**
+     * @param redisson 未包装的 RedissonClient，用于确定 key 所在的节点
+     * @param registry 熔断器
+     * @return 包装后的 RedissonClient
+     */
+    public static RedissonClient wrap(RedissonClient redisson, CircuitBreakerRegistry registry) {
+        Function<String, String> nodeResolver = CircuitBreakerRegistry.nodeResolver(redisson);
+        return Proxies.create(RedissonClient.class, redisson, (method, args) -> {
+            Object result = invoke(redisson, method, args);
+            Class<?> type = method.getReturnType();
+            if (result == null || !type.isInterface() || !RObject.class.isAssignableFrom(type)
+                    || args == null || args.length == 0 || !(args[0] instanceof String)
+                    || EXCLUDED_TYPES.stream().anyMatch(excluded -> excluded.isAssignableFrom(type))) {
+                return result;
+            }
+            return wrap(type, result, (String) args[0], nodeResolver, registry);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Object target, String name, Function<String, String> nodeResolver,
+                              CircuitBreakerRegistry registry) {
+        return Proxies.create(type, (T) target, (method, args) -> {
+            if (isLocal(method)) {
+                return invoke(target, method, args);
+            }
+            CircuitBreaker breaker = registry.get(nodeResolver.apply(name));
+            Permit permit = breaker.tryAcquire();
+            if (permit == null) {
+                CircuitBreakerOpenException e = new CircuitBreakerOpenException(breaker.getNode());
+                if (RFuture.class.isAssignableFrom(method.getReturnType())) {
+                    RedissonPromise<Object> promise = new RedissonPromise<>();
+                    promise.tryFailure(e);
+                    return promise;
+                }
+                throw e;
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invoke(target, method, args);
+            } catch (RedisException e) {
+                breaker.onFailure(permit);
+                throw e;
+            } catch (Throwable t) {
+                // 非 Redis 异常说明节点已正常响应
+                breaker.onSuccess(permit, NANOSECONDS.toMillis(System.nanoTime() - start));
+                throw t;
+            }
+            if (result instanceof RFuture) {
+                ((RFuture<?>) result).whenComplete((value, e) -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof RedisException) {
+                        breaker.onFailure(permit);
+                    } else {
+                        breaker.onSuccess(permit, NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+                });
+            } else {
+                breaker.onSuccess(permit, NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 不计入熔断统计的方法：
+     * 1. 名称在 LOCAL_METHODS 中；
+     * 2. 返回 Redisson 的对象而不是 RFuture，如 RMap#getLock、RMap#getReadWriteLock、RMap#getPermitExpirableSemaphore，
+     * 这些方法只在本地创建对象，不发送命令
+     */
+    private static boolean isLocal(Method method) {
+        if (LOCAL_METHODS.contains(method.getName())) {
+            return true;
+        }
+        Class<?> type = method.getReturnType();
+        return type.isInterface() && type.getName().startsWith("org.redisson.api.") && !RFuture.class.isAssignableFrom(type);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.github.trang.redisson.autoconfigure.breaker;
+
+import org.redisson.client.RedisException;
+
+/**
+ * 节点熔断期间拒绝调用时抛出
+ *
+ * @author trang
+ */
+public class CircuitBreakerOpenException extends RedisException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitBreakerOpenException(String node) {
+        super("circuit breaker is open for redis node: " + node);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.github.trang.redisson.autoconfigure.breaker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.connection.ConnectionManager;
+import org.redisson.connection.MasterSlaveEntry;
+
+/**
+ * 按节点维护熔断器，所有 RedissonClient 共用
+ *
+ * @author trang
+ */
+public class CircuitBreakerRegistry {
+
+    /** 无法确定节点时使用的名称 */
+    static final String DEFAULT_NODE = "default";
+
+    private final int failureRateThreshold;
+    private final long slowCallThreshold;
+    private final int minimumCalls;
+    private final long window;
+    private final long openDuration;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * @param failureRateThreshold 失败率阈值，单位：%
+     * @param slowCallThreshold    慢调用阈值，单位：ms
+     * @param minimumCalls         统计窗口内的最少调用次数，不足时不熔断
+     * @param window               统计窗口，单位：ms
+     * @param openDuration         熔断持续时间，单位：ms
+     */
+    public CircuitBreakerRegistry(int failureRateThreshold, long slowCallThreshold, int minimumCalls,
+                                  long window, long openDuration) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThreshold = slowCallThreshold;
+        this.minimumCalls = minimumCalls;
+        this.window = window;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * 获取节点对应的熔断器
+     *
+     * @param node 节点地址
+     * @return 熔断器
+     */
+    public CircuitBreaker get(String node) {
+        return breakers.computeIfAbsent(node, n ->
+                new CircuitBreaker(n, failureRateThreshold, slowCallThreshold, minimumCalls, window, openDuration));
+    }
+
+    /**
+     * 所有节点的熔断状态
+     *
+     * @return key 为节点地址
+     */
+    public Map<String, CircuitBreaker.State> getStates() {
+        Map<String, CircuitBreaker.State> states = new LinkedHashMap<>();
+        breakers.forEach((node, breaker) -> states.put(node, breaker.getState()));
+        return states;
+    }
+
+    /**
+     * 根据 key 所在 slot 的 master 节点地址确定熔断器，每次调用时计算，主从切换后自动对应到新的 master；
+     * 单机、主从、哨兵模式下所有 key 都对应同一个节点
+     *
+     * @param redisson 未包装的 RedissonClient
+     * @return key 到节点地址的映射
+     */
+    static Function<String, String> nodeResolver(RedissonClient redisson) {
+        if (!(redisson instanceof Redisson)) {
+            return key -> DEFAULT_NODE;
+        }
+        ConnectionManager connectionManager = ((Redisson) redisson).getConnectionManager();
+        return key -> {
+            try {
+                MasterSlaveEntry entry = connectionManager.getEntry(connectionManager.calcSlot(key));
+                return entry != null ? String.valueOf(entry.getClient().getAddr()) : DEFAULT_NODE;
+            } catch (RuntimeException e) {
+                return DEFAULT_NODE;
+            }
+        };
+    }
+
+}
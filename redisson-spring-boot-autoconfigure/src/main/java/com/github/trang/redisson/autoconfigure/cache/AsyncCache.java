@@ -0,0 +1,44 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.cache.Cache.ValueWrapper;
+
+/**
+ * 基于 Redisson 异步 API 的 Cache，所有操作都不会阻塞调用线程
+ *
+ * @author trang
+ */
+public interface AsyncCache {
+
+    /**
+     * @return cacheName
+     */
+    String getName();
+
+    /**
+     * 异步获取
+     *
+     * @param key key
+     * @return 不存在时为 null，缓存了 null 值时为 get() 返回 null 的 ValueWrapper
+     */
+    CompletableFuture<ValueWrapper> getAsync(Object key);
+
+    /**
+     * 异步写入
+     *
+     * @param key   key
+     * @param value value
+     * @return 写入结果
+     */
+    CompletableFuture<Void> putAsync(Object key, Object value);
+
+    /**
+     * 异步删除
+     *
+     * @param key key
+     * @return 删除结果
+     */
+    CompletableFuture<Void> evictAsync(Object key);
+
+}
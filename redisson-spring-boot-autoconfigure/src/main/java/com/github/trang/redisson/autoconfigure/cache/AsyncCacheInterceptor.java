@@ -0,0 +1,151 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 处理 #{@link AsyncCacheable} 的拦截器
+ *
+ * Redisson 的回调运行在 Netty 线程上，命中时直接在回调线程上完成，未命中时方法调用会切换到 executor 中执行，
+ * 避免阻塞 Netty 线程，所以方法不在调用线程上执行，调用线程上的 ThreadLocal（事务、请求上下文等）不可用；
+ * 缓存读写失败时按未命中处理，不影响方法调用；executor 拒绝执行时返回的 future 以该异常完成
+ *
+ * @author trang
+ */
+@Slf4j
+public class AsyncCacheInterceptor implements MethodInterceptor {
+
+    private final BeanFactory beanFactory;
+    private final String executorName;
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ConcurrentMap<String, Expression> expressions = new ConcurrentHashMap<>();
+    private volatile DecoratingRedissonSpringCacheManager cacheManager;
+    private volatile boolean cacheManagerResolved;
+    private volatile Executor executor;
+
+    /**
+     * @param beanFactory  用于延迟获取 CacheManager 及线程池，避免 Advisor 初始化时提前创建
+     * @param executorName 未命中时调用方法的线程池（Executor）的 beanName
+     */
+    public AsyncCacheInterceptor(BeanFactory beanFactory, String executorName) {
+        this.beanFactory = beanFactory;
+        this.executorName = executorName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        AsyncCacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, AsyncCacheable.class);
+        // 返回的是 CompletableFuture，所以返回值类型只能是 CompletionStage 或 CompletableFuture
+        Class<?> returnType = method.getReturnType();
+        if (cacheable == null || !CompletionStage.class.isAssignableFrom(returnType)
+                || !returnType.isAssignableFrom(CompletableFuture.class)) {
+            return invocation.proceed();
+        }
+        DecoratingRedissonSpringCacheManager manager = getCacheManager();
+        AsyncCache cache = manager != null ? manager.getAsyncCache(cacheable.value()) : null;
+        if (cache == null) {
+            return invocation.proceed();
+        }
+        Object key = generateKey(cacheable, method, invocation.getArguments());
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        cache.getAsync(key).whenComplete((wrapper, e) -> {
+            if (e != null) {
+                log.warn("async cache get failed, cache: {}, key: {}", cache.getName(), key, e);
+            } else if (wrapper != null) {
+                // 命中时直接在回调线程上完成，不切换线程
+                result.complete(wrapper.get());
+                return;
+            }
+            try {
+                getExecutor().execute(() -> load(invocation, cache, key, result));
+            } catch (RuntimeException ex) {
+                // 线程池拒绝或不存在时调用方的 future 也要完成，否则会一直等待
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 未命中时调用方法，方法返回的 future 完成后写入缓存
+     */
+    private void load(MethodInvocation invocation, AsyncCache cache, Object key, CompletableFuture<Object> result) {
+        CompletionStage<?> stage;
+        try {
+            stage = (CompletionStage<?>) invocation.proceed();
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+            return;
+        }
+        if (stage == null) {
+            result.complete(null);
+            return;
+        }
+        stage.whenComplete((value, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+                return;
+            }
+            cache.putAsync(key, value).whenComplete((ignored, putEx) -> {
+                if (putEx != null) {
+                    log.warn("async cache put failed, cache: {}, key: {}", cache.getName(), key, putEx);
+                }
+            });
+            result.complete(value);
+        });
+    }
+
+    private Object generateKey(AsyncCacheable cacheable, Method method, Object[] args) {
+        if (cacheable.key().isEmpty()) {
+            return SimpleKeyGenerator.generateKey(args);
+        }
+        Expression expression = expressions.computeIfAbsent(cacheable.key(), parser::parseExpression);
+        return expression.getValue(new MethodBasedEvaluationContext(null, method, args, parameterNameDiscoverer));
+    }
+
+    /**
+     * 用户自行声明 RedissonSpringCacheManager 时没有 DecoratingRedissonSpringCacheManager，此时不做缓存，直接调用方法
+     */
+    private DecoratingRedissonSpringCacheManager getCacheManager() {
+        if (!cacheManagerResolved) {
+            try {
+                cacheManager = beanFactory.getBean(DecoratingRedissonSpringCacheManager.class);
+            } catch (NoSuchBeanDefinitionException e) {
+                log.warn("@AsyncCacheable is ignored, no DecoratingRedissonSpringCacheManager found");
+            }
+            cacheManagerResolved = true;
+        }
+        return cacheManager;
+    }
+
+    private Executor getExecutor() {
+        if (executor == null) {
+            executor = beanFactory.getBean(executorName, Executor.class);
+        }
+        return executor;
+    }
+
+}
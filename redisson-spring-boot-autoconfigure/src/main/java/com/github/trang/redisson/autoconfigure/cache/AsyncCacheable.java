@@ -0,0 +1,40 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 缓存返回值为 CompletableFuture 的方法
+ *
+ * 查询缓存和写入缓存都使用 Redisson 的异步 API，命中时直接返回已完成的 CompletableFuture，
+ * 未命中时调用方法，并在其返回的 CompletableFuture 完成后写入缓存，全程不阻塞调用线程
+ *
+ * 注意：方法的返回值类型只能是 CompletionStage 或 CompletableFuture；未命中时方法在
+ * spring.redisson.cache-manager.async-executor 指定的线程池中调用，而不是调用线程，
+ * 所以方法内不能依赖调用线程上的事务、请求上下文等 ThreadLocal
+ *
+ * @author trang
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface AsyncCacheable {
+
+    /**
+     * @return cacheName
+     */
+    String value();
+
+    /**
+     * SpEL 表达式，可以通过 #参数名、#p0、#a0 引用参数，默认使用 SimpleKeyGenerator 根据全部参数生成
+     *
+     * @return key
+     */
+    String key() default "";
+
+}
@@ -0,0 +1,29 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import org.redisson.api.RBatch;
+
+/**
+ * 可以将写操作放入 RBatch 的 Cache
+ *
+ * @author trang
+ */
+public interface BatchWritableCache {
+
+    /**
+     * 将 put 操作放入 RBatch
+     *
+     * @param batch RBatch
+     * @param key   key
+     * @param value value，不为 null
+     */
+    void put(RBatch batch, Object key, Object value);
+
+    /**
+     * 将 evict 操作放入 RBatch
+     *
+     * @param batch RBatch
+     * @param key   key
+     */
+    void evict(RBatch batch, Object key);
+
+}
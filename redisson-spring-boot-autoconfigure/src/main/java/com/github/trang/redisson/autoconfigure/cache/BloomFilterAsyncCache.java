@@ -0,0 +1,62 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 使用布隆过滤器拦截一定不存在的 key 的 AsyncCache，规则与 #{@link BloomFilterCache} 一致
+ *
+ * 通过 #{@link CacheBloomFilter#mightContainAsync(Object)} 判断，开启 confirmAbsent 时同样不会阻塞调用线程
+ *
+ * @author trang
+ */
+@Slf4j
+public class BloomFilterAsyncCache implements AsyncCache {
+
+    private static final ValueWrapper ABSENT = new SimpleValueWrapper(null);
+
+    private final AsyncCache target;
+    private final CacheBloomFilter bloomFilter;
+    private final boolean allowNullValues;
+
+    public BloomFilterAsyncCache(AsyncCache target, CacheBloomFilter bloomFilter, boolean allowNullValues) {
+        this.target = target;
+        this.bloomFilter = bloomFilter;
+        this.allowNullValues = allowNullValues;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> getAsync(Object key) {
+        return bloomFilter.mightContainAsync(key).thenCompose(mightContain -> mightContain
+                ? target.getAsync(key) : CompletableFuture.completedFuture(allowNullValues ? ABSENT : null));
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        return target.putAsync(key, value).thenRun(() -> {
+            if (value == null) {
+                return;
+            }
+            try {
+                bloomFilter.add(key);
+            } catch (RuntimeException e) {
+                log.warn("bloom filter [{}] add failed, key: {}", bloomFilter.getName(), key, e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        return target.evictAsync(key);
+    }
+
+}
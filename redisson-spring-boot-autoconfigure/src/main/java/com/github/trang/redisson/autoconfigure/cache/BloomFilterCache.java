@@ -0,0 +1,116 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 使用布隆过滤器拦截一定不存在的 key 的 Cache
+ *
+ * 布隆过滤器判断 key 一定不存在时不访问 Redis 中的缓存：
+ * 1. allowNullValues 为 true 时视为缓存了 null 值，不调用 valueLoader；
+ * 2. allowNullValues 为 false 时无法表示缓存的 null 值，视为未命中，get(key, valueLoader) 直接调用 valueLoader，
+ * 加载到非 null 值时写入 Cache 并添加到布隆过滤器。
+ * 写入非 null 值时自动将 key 添加到布隆过滤器。
+ *
+ * 所以 allowNullValues 为 true 时，启动时需要通过 #{@link CacheBloomFilters} 将所有已存在的 key 添加到布隆过滤器，
+ * 新增数据时同样需要添加，否则未写入过 Cache 的 key 会一直被当作不存在
+ *
+ * @author trang
+ */
+@Slf4j
+public class BloomFilterCache implements Cache {
+
+    private static final ValueWrapper ABSENT = new SimpleValueWrapper(null);
+
+    private final Cache target;
+    private final CacheBloomFilter bloomFilter;
+    private final boolean allowNullValues;
+
+    public BloomFilterCache(Cache target, CacheBloomFilter bloomFilter, boolean allowNullValues) {
+        this.target = target;
+        this.bloomFilter = bloomFilter;
+        this.allowNullValues = allowNullValues;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (bloomFilter.mightContain(key)) {
+            return target.get(key);
+        }
+        return allowNullValues ? ABSENT : null;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return bloomFilter.mightContain(key) ? target.get(key, type) : null;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (bloomFilter.mightContain(key)) {
+            return target.get(key, valueLoader);
+        }
+        if (allowNullValues) {
+            return null;
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target.put(key, value);
+        add(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = target.putIfAbsent(key, value);
+        add(key, value);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+    }
+
+    private void add(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            bloomFilter.add(key);
+        } catch (RuntimeException e) {
+            log.warn("bloom filter [{}] add failed, key: {}", bloomFilter.getName(), key, e);
+        }
+    }
+
+}
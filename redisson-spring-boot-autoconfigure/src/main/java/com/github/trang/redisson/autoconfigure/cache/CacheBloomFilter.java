@@ -0,0 +1,316 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSet;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RFuture;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache 的布隆过滤器，位图保存在 Redis 中，本地保存一份快照用于判断
+ *
+ * 1. 位数及哈希次数按 expectedInsertions 和 falseProbability 计算，与 RBloomFilter 的算法一致，
+ * 所有实例需要使用相同的配置；
+ * 2. 读取只使用本地快照，不产生网络请求，本地快照判断不存在即为最终结果；首次加载完成前视为可能存在；
+ * 3. 写入时立即写本地快照，并在同一个 RBatch 中写 Redis 的位图、通过 pub/sub 通知其它节点写各自的本地快照；
+ * 4. pub/sub 消息在断线期间会丢失，所以仍然定期从 Redis 加载整个位图合并到本地快照，布隆过滤器只增不减，合并不会丢失本地的位；
+ * 每次刷新每个节点都需要读取整个位图，大小约为 expectedInsertions * ln(1 / falseProbability) / (ln2)^2 位，
+ * 如 100 万、0.01 时约 1.2 MB，所以刷新间隔不宜过短；
+ * 5. 开启 confirmAbsent 后，本地快照判断不存在时再读取一次 Redis 中的位图，以 Redis 为准，每个不存在的 key 都会多一次网络请求；
+ * 6. 刷新失败时保留刷新时间，RETRY_INTERVAL 后重试；读取 Redis 失败时视为可能存在
+ *
+ * 没有使用 RBloomFilter，因为其哈希算法不是公开 API，无法在本地快照上进行相同的判断
+ *
+ * @author trang
+ */
+@Slf4j
+public class CacheBloomFilter {
+
+    /** 位图的最大长度，受限于 BitSet 的 int 下标 */
+    private static final long MAX_BITS = Integer.MAX_VALUE;
+    /** 刷新失败后的重试间隔，单位：ms */
+    private static final long RETRY_INTERVAL = 1000;
+    /** 通知其它节点的 topic 后缀 */
+    private static final String TOPIC_SUFFIX = ":added";
+
+    private final String name;
+    private final RedissonClient redisson;
+    private final int numBits;
+    private final int hashIterations;
+    private final long refreshInterval;
+    private final boolean confirmAbsent;
+    private final Executor executor;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile BitSet snapshot;
+    private volatile long refreshedAt;
+    private volatile long retryAt;
+    private Integer listenerId;
+
+    /**
+     * @param name               位图的 key
+     * @param redisson           redisson 客户端
+     * @param expectedInsertions 预计插入数量
+     * @param falseProbability   误判率
+     * @param refreshInterval    从 Redis 加载整个位图的间隔，单位：ms
+     * @param confirmAbsent      本地快照判断不存在时是否再读取 Redis 中的位图
+     * @param executor           刷新本地快照的线程池
+     */
+    public CacheBloomFilter(String name, RedissonClient redisson, long expectedInsertions, double falseProbability,
+                            long refreshInterval, boolean confirmAbsent, Executor executor) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be greater than 0");
+        }
+        if (falseProbability <= 0 || falseProbability >= 1) {
+            throw new IllegalArgumentException("falseProbability must be between 0 and 1");
+        }
+        this.name = name;
+        this.redisson = redisson;
+        this.numBits = (int) Math.min(optimalNumOfBits(expectedInsertions, falseProbability), MAX_BITS);
+        this.hashIterations = optimalNumOfHashFunctions(expectedInsertions, numBits);
+        this.refreshInterval = refreshInterval;
+        this.confirmAbsent = confirmAbsent;
+        this.executor = executor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 订阅其它节点添加的 key，写入本地快照
+     */
+    public synchronized void subscribe() {
+        if (listenerId == null) {
+            RTopic<String> topic = redisson.getTopic(name + TOPIC_SUFFIX, StringCodec.INSTANCE);
+            listenerId = topic.addListener((channel, message) -> setLocal(parse(message)));
+        }
+    }
+
+    /**
+     * 取消订阅
+     */
+    public synchronized void unsubscribe() {
+        if (listenerId != null) {
+            redisson.getTopic(name + TOPIC_SUFFIX, StringCodec.INSTANCE).removeListener(listenerId);
+            listenerId = null;
+        }
+    }
+
+    /**
+     * 是否可能存在，返回 false 时本节点没有看到该 key 通过 #{@link #add(Object)} 添加过
+     *
+     * @param key 缓存 key
+     * @return 是否可能存在
+     */
+    public boolean mightContain(Object key) {
+        refreshIfNecessary();
+        int[] indexes = indexes(key);
+        if (!absentLocally(indexes)) {
+            return true;
+        }
+        return confirmAbsent && containsInRedis(indexes).join();
+    }
+
+    /**
+     * #{@link #mightContain(Object)} 的异步版本，开启 confirmAbsent 时不会阻塞调用线程
+     *
+     * @param key 缓存 key
+     * @return 是否可能存在
+     */
+    public CompletableFuture<Boolean> mightContainAsync(Object key) {
+        refreshIfNecessary();
+        int[] indexes = indexes(key);
+        if (!absentLocally(indexes)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return confirmAbsent ? containsInRedis(indexes) : CompletableFuture.completedFuture(false);
+    }
+
+    /**
+     * 添加 key，用于启动时预热已存在的数据，写入 Cache 时会自动添加
+     *
+     * @param key 缓存 key
+     */
+    public void add(Object key) {
+        int[] indexes = indexes(key);
+        setLocal(indexes);
+        RBatch batch = redisson.createBatch();
+        RBitSetAsync bits = batch.getBitSet(name);
+        for (int index : indexes) {
+            bits.setAsync(index);
+        }
+        batch.<String>getTopic(name + TOPIC_SUFFIX, StringCodec.INSTANCE).publishAsync(join(indexes));
+        batch.execute();
+    }
+
+    /**
+     * 从 Redis 加载整个位图并合并到本地快照
+     */
+    public void refresh() {
+        RBitSet bits = redisson.getBitSet(name);
+        // 预先分配全部长度，写入时不会扩容，读取不需要加锁
+        BitSet merged = new BitSet(numBits);
+        merged.or(bits.asBitSet());
+        BitSet current = snapshot;
+        if (current != null) {
+            synchronized (current) {
+                merged.or(current);
+            }
+        }
+        snapshot = merged;
+        refreshedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 本地快照是否判断一定不存在，还没有加载本地快照时返回 false
+     */
+    private boolean absentLocally(int[] indexes) {
+        BitSet current = snapshot;
+        if (current == null) {
+            return false;
+        }
+        for (int index : indexes) {
+            if (!current.get(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void setLocal(int[] indexes) {
+        BitSet current = snapshot;
+        if (current != null) {
+            synchronized (current) {
+                for (int index : indexes) {
+                    current.set(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * 异步读取 Redis 中的位图，所有位都存在时合并到本地快照，读取失败时视为可能存在
+     */
+    private CompletableFuture<Boolean> containsInRedis(int[] indexes) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        List<RFuture<Boolean>> futures = new ArrayList<>(indexes.length);
+        RFuture<?> executed;
+        try {
+            RBatch batch = redisson.createBatch();
+            RBitSetAsync bits = batch.getBitSet(name);
+            for (int index : indexes) {
+                futures.add(bits.getAsync(index));
+            }
+            executed = batch.executeAsync();
+        } catch (RuntimeException e) {
+            log.warn("bloom filter [{}] read failed, treat as might contain", name, e);
+            return CompletableFuture.completedFuture(true);
+        }
+        executed.whenComplete((ignored, e) -> {
+            if (e != null) {
+                log.warn("bloom filter [{}] read failed, treat as might contain", name, e);
+                result.complete(true);
+                return;
+            }
+            for (RFuture<Boolean> future : futures) {
+                if (!Boolean.TRUE.equals(future.getNow())) {
+                    result.complete(false);
+                    return;
+                }
+            }
+            setLocal(indexes);
+            result.complete(true);
+        });
+        return result;
+    }
+
+    private void refreshIfNecessary() {
+        long now = System.currentTimeMillis();
+        if (now - refreshedAt < refreshInterval || now < retryAt || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.warn("bloom filter [{}] refresh failed", name, e);
+                // 不更新 refreshedAt，避免过期的快照再保留一个刷新间隔
+                retryAt = System.currentTimeMillis() + RETRY_INTERVAL;
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private static String join(int[] indexes) {
+        StringBuilder builder = new StringBuilder();
+        for (int index : indexes) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(index);
+        }
+        return builder.toString();
+    }
+
+    private static int[] parse(String message) {
+        String[] parts = message.split(",");
+        int[] indexes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            indexes[i] = Integer.parseInt(parts[i]);
+        }
+        return indexes;
+    }
+
+    /**
+     * 双重哈希：第 i 个下标为 (h1 + i * h2) % numBits
+     */
+    private int[] indexes(Object key) {
+        byte[] bytes = String.valueOf(key).getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x9e3779b97f4a7c15L;
+        for (byte b : bytes) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = (h2 + (b & 0xff)) * 0xc6a4a7935bd1e995L;
+        }
+        h1 = fmix64(h1);
+        h2 = fmix64(h2 ^ bytes.length);
+        int[] indexes = new int[hashIterations];
+        long combined = h1;
+        for (int i = 0; i < hashIterations; i++) {
+            indexes[i] = (int) ((combined & Long.MAX_VALUE) % numBits);
+            combined += h2;
+        }
+        return indexes;
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long optimalNumOfBits(long n, double p) {
+        return (long) (-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+    }
+
+    private static int optimalNumOfHashFunctions(long n, long m) {
+        return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * 各个 Cache 的布隆过滤器
+ *
+ * 通过 #{@link #get(String)} 获取布隆过滤器以添加已存在的 key，通过 #{@link #decorate(Cache)} 及
+ * #{@link #decorate(AsyncCache)} 为 Cache 增加拦截
+ *
+ * @author trang
+ */
+public class CacheBloomFilters implements DisposableBean {
+
+    /** 位图的 key 前缀 */
+    private static final String KEY_PREFIX = "redisson__bloom__";
+
+    private final Map<String, CacheBloomFilter> bloomFilters = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final boolean allowNullValues;
+
+    public CacheBloomFilters() {
+        this(true);
+    }
+
+    /**
+     * @param allowNullValues 与 CacheManager 的配置一致，为 false 时布隆过滤器判断不存在的 key 视为未命中
+     */
+    public CacheBloomFilters(boolean allowNullValues) {
+        this.allowNullValues = allowNullValues;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("redisson-bloom-filter-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * 注册 Cache 的布隆过滤器，本地快照判断不存在即为最终结果
+     *
+     * @param cacheName          cacheName
+     * @param redisson           redisson 客户端
+     * @param expectedInsertions 预计插入数量
+     * @param falseProbability   误判率
+     * @param refreshInterval    从 Redis 加载整个位图的间隔，单位：ms
+     */
+    public void register(String cacheName, RedissonClient redisson, long expectedInsertions, double falseProbability,
+                         long refreshInterval) {
+        register(cacheName, redisson, expectedInsertions, falseProbability, refreshInterval, false);
+    }
+
+    /**
+     * 注册 Cache 的布隆过滤器，并订阅其它节点添加的 key
+     *
+     * @param cacheName          cacheName
+     * @param redisson           redisson 客户端
+     * @param expectedInsertions 预计插入数量
+     * @param falseProbability   误判率
+     * @param refreshInterval    从 Redis 加载整个位图的间隔，单位：ms
+     * @param confirmAbsent      本地快照判断不存在时是否再读取 Redis 中的位图
+     */
+    public void register(String cacheName, RedissonClient redisson, long expectedInsertions, double falseProbability,
+                         long refreshInterval, boolean confirmAbsent) {
+        CacheBloomFilter bloomFilter = new CacheBloomFilter(KEY_PREFIX + cacheName, redisson, expectedInsertions,
+                falseProbability, refreshInterval, confirmAbsent, executor);
+        bloomFilter.subscribe();
+        CacheBloomFilter previous = bloomFilters.put(cacheName, bloomFilter);
+        if (previous != null) {
+            previous.unsubscribe();
+        }
+    }
+
+    /**
+     * 获取 Cache 的布隆过滤器
+     *
+     * @param cacheName cacheName
+     * @return 布隆过滤器，未注册时返回 null
+     */
+    public CacheBloomFilter get(String cacheName) {
+        return bloomFilters.get(cacheName);
+    }
+
+    /**
+     * 为注册了布隆过滤器的 Cache 增加拦截
+     *
+     * @param cache 目标 Cache
+     * @return 注册了布隆过滤器时返回 #{@link BloomFilterCache}，否则返回目标 Cache
+     */
+    public Cache decorate(Cache cache) {
+        CacheBloomFilter bloomFilter = bloomFilters.get(cache.getName());
+        return bloomFilter != null ? new BloomFilterCache(cache, bloomFilter, allowNullValues) : cache;
+    }
+
+    /**
+     * 为注册了布隆过滤器的 AsyncCache 增加拦截
+     *
+     * @param cache 目标 AsyncCache
+     * @return 注册了布隆过滤器时返回 #{@link BloomFilterAsyncCache}，否则返回目标 AsyncCache
+     */
+    public AsyncCache decorate(AsyncCache cache) {
+        CacheBloomFilter bloomFilter = bloomFilters.get(cache.getName());
+        return bloomFilter != null ? new BloomFilterAsyncCache(cache, bloomFilter, allowNullValues) : cache;
+    }
+
+    @Override
+    public void destroy() {
+        bloomFilters.values().forEach(CacheBloomFilter::unsubscribe);
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务内缓存写操作的缓冲区
+ *
+ * 每个事务、每个 RedissonClient 对应一个缓冲区，事务提交后将缓冲的操作放入一个 RBatch 中批量发送，事务回滚时直接丢弃
+ *
+ * @author trang
+ */
+class CacheWriteBuffer extends TransactionSynchronizationAdapter {
+
+    private final ResourceKey resourceKey;
+    private final RedissonClient redisson;
+    private final List<Operation> operations = new ArrayList<>();
+
+    private CacheWriteBuffer(ResourceKey resourceKey, RedissonClient redisson) {
+        this.resourceKey = resourceKey;
+        this.redisson = redisson;
+    }
+
+    /**
+     * 获取当前事务的缓冲区，不存在时创建并注册到事务同步中，调用前需要确认事务同步已激活
+     *
+     * @param redisson redisson 客户端
+     * @return 缓冲区
+     */
+    static CacheWriteBuffer current(RedissonClient redisson) {
+        ResourceKey resourceKey = new ResourceKey(redisson);
+        CacheWriteBuffer buffer = (CacheWriteBuffer) TransactionSynchronizationManager.getResource(resourceKey);
+        if (buffer == null) {
+            buffer = new CacheWriteBuffer(resourceKey, redisson);
+            TransactionSynchronizationManager.bindResource(resourceKey, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * 添加可以批量执行的操作
+     *
+     * @param operation 操作
+     */
+    void addBatched(Consumer<RBatch> operation) {
+        operations.add(new Operation(operation, null));
+    }
+
+    /**
+     * 添加需要单独执行的操作
+     *
+     * @param operation 操作
+     */
+    void addDirect(Runnable operation) {
+        operations.add(new Operation(null, operation));
+    }
+
+    @Override
+    public void suspend() {
+        TransactionSynchronizationManager.unbindResource(resourceKey);
+    }
+
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(resourceKey, this);
+    }
+
+    @Override
+    public void afterCommit() {
+        // 按顺序执行，遇到需要单独执行的操作时先发送已积累的批量操作，保证同一个 key 的操作顺序
+        RBatch batch = null;
+        for (Operation operation : operations) {
+            if (operation.batched != null) {
+                if (batch == null) {
+                    batch = redisson.createBatch();
+                }
+                operation.batched.accept(batch);
+            } else {
+                if (batch != null) {
+                    batch.execute();
+                    batch = null;
+                }
+                operation.direct.run();
+            }
+        }
+        if (batch != null) {
+            batch.execute();
+        }
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        operations.clear();
+        TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+    }
+
+    private static class Operation {
+        private final Consumer<RBatch> batched;
+        private final Runnable direct;
+
+        private Operation(Consumer<RBatch> batched, Runnable direct) {
+            this.batched = batched;
+            this.direct = direct;
+        }
+    }
+
+    /**
+     * 不直接使用 RedissonClient 作为 key，避免与 RedissonTransactionManager 绑定的资源冲突
+     */
+    private static class ResourceKey {
+        private final RedissonClient redisson;
+
+        private ResourceKey(RedissonClient redisson) {
+            this.redisson = redisson;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ResourceKey && ((ResourceKey) o).redisson == redisson;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(redisson);
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.spring.cache.CacheConfig;
+import org.redisson.spring.cache.RedissonSpringCacheManager;
+import org.springframework.cache.Cache;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import com.github.trang.redisson.autoconfigure.enums.CacheStorageType;
+
+/**
+ * 支持装饰 Cache 及选择存储方式的 RedissonSpringCacheManager
+ *
+ * 1. 存储方式为 BUCKET 的 Cache 直接创建为 #{@link RedissonBucketCache}，不经过 RedissonSpringCacheManager，
+ * 不会创建 RMapCache 及其过期清理任务；其余由 RedissonSpringCacheManager 创建
+ * 2. 装饰器按添加顺序依次包装 Cache，先添加的位于内层
+ * 3. 通过 #{@link #getAsyncCache(String)} 获取与 Cache 共享存储的 AsyncCache，AsyncCache 只经过
+ * #{@link #addDecorator(UnaryOperator, UnaryOperator)} 添加的异步装饰器
+ * 4. Cache 在首次获取时创建，#{@link #setCacheNames(Collection)} 只记录名称，此时存储方式及装饰器还没有设置
+ *
+ * @author trang
+ */
+public class DecoratingRedissonSpringCacheManager extends RedissonSpringCacheManager {
+
+    private final RedissonClient redisson;
+    /** 构造时传入的 CacheConfig，BUCKET 存储方式的过期配置从这里获取 */
+    private final Map<String, CacheConfig> configs = new ConcurrentHashMap<>();
+    private final List<UnaryOperator<Cache>> decorators = new CopyOnWriteArrayList<>();
+    private final List<UnaryOperator<AsyncCache>> asyncDecorators = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AsyncCache> asyncCaches = new ConcurrentHashMap<>();
+    private Codec codec;
+    private boolean allowNullValues = true;
+    private CacheStorageType storageType = CacheStorageType.MAP;
+    private Map<String, CacheStorageType> storageTypes = new HashMap<>();
+    private Set<String> hashTagCaches = new HashSet<>();
+    /** 为 null 时即 dynamic，获取不存在的 Cache 时创建 */
+    private Set<String> cacheNames;
+    private String configLocation;
+    private ResourceLoader resourceLoader;
+
+    public DecoratingRedissonSpringCacheManager(RedissonClient redisson, Map<String, ? extends CacheConfig> config) {
+        super(redisson, config);
+        this.redisson = redisson;
+        this.configs.putAll(config);
+    }
+
+    /**
+     * 添加 Cache 装饰器，需要在获取 Cache 之前添加
+     *
+     * @param decorator 装饰器
+     */
+    public void addDecorator(UnaryOperator<Cache> decorator) {
+        decorators.add(decorator);
+    }
+
+    /**
+     * 同时添加 Cache 及 AsyncCache 的装饰器，需要在获取 Cache 之前添加
+     *
+     * @param decorator      Cache 装饰器
+     * @param asyncDecorator AsyncCache 装饰器
+     */
+    public void addDecorator(UnaryOperator<Cache> decorator, UnaryOperator<AsyncCache> asyncDecorator) {
+        decorators.add(decorator);
+        asyncDecorators.add(asyncDecorator);
+    }
+
+    /**
+     * 获取 Cache 的过期配置，包括通过 configLocation 声明的配置
+     *
+     * @param name cacheName
+     * @return 未配置时返回 null
+     */
+    public CacheConfig getCacheConfig(String name) {
+        return configs.get(name);
+    }
+
+    /**
+     * 设置默认的存储方式
+     *
+     * @param storageType 存储方式
+     */
+    public void setStorageType(CacheStorageType storageType) {
+        this.storageType = storageType;
+    }
+
+    /**
+     * 单独设置某些 Cache 的存储方式，优先级高于默认的存储方式
+     *
+     * @param storageTypes key 为 cacheName
+     */
+    public void setStorageTypes(Map<String, CacheStorageType> storageTypes) {
+        this.storageTypes = new HashMap<>(storageTypes);
+    }
+
+    /**
+     * 设置使用 hash tag 的 Cache，集群模式下这些 Cache 的所有 key 会分配到同一个 slot，仅对 BUCKET 存储方式生效
+     *
+     * @param hashTagCaches cacheName
+     */
+    public void setHashTagCaches(Collection<String> hashTagCaches) {
+        this.hashTagCaches = new HashSet<>(hashTagCaches);
+    }
+
+    /**
+     * RedissonSpringCacheManager 会在这里立即创建 Cache，改为只记录名称，首次获取时再创建
+     *
+     * @param names cacheName，为 null 时即 dynamic
+     */
+    @Override
+    public void setCacheNames(Collection<String> names) {
+        this.cacheNames = names != null ? new HashSet<>(names) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(cacheNames != null ? cacheNames : caches.keySet());
+    }
+
+    @Override
+    public void setConfigLocation(String configLocation) {
+        super.setConfigLocation(configLocation);
+        this.configLocation = configLocation;
+    }
+
+    @Override
+    public void setResourceLoader(ResourceLoader resourceLoader) {
+        super.setResourceLoader(resourceLoader);
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * RedissonSpringCacheManager 不公开 configLocation 中的配置，这里再读取一次，
+     * 供 BUCKET 存储方式及 AsyncCache、事务感知写入 RMapCache 时获取过期配置
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        super.afterPropertiesSet();
+        if (configLocation == null) {
+            return;
+        }
+        Resource resource = resourceLoader.getResource(configLocation);
+        try (InputStream json = resource.getInputStream()) {
+            configs.putAll(CacheConfig.fromJSON(json));
+        } catch (IOException e) {
+            try (InputStream yaml = resource.getInputStream()) {
+                configs.putAll(CacheConfig.fromYAML(yaml));
+            }
+        }
+    }
+
+    @Override
+    public void setCodec(Codec codec) {
+        super.setCodec(codec);
+        this.codec = codec;
+    }
+
+    @Override
+    public void setAllowNullValues(boolean allowNullValues) {
+        super.setAllowNullValues(allowNullValues);
+        this.allowNullValues = allowNullValues;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        if (!exists(name)) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> decorate(create(name)));
+    }
+
+    /**
+     * 获取与 Cache 共享存储的 AsyncCache
+     *
+     * @param name cacheName
+     * @return 与 #{@link #getCache(String)} 一致，Cache 不存在时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncCache getAsyncCache(String name) {
+        if (!exists(name)) {
+            return null;
+        }
+        return asyncCaches.computeIfAbsent(name, key -> {
+            Cache created = create(name);
+            AsyncCache cache = created instanceof AsyncCache ? (AsyncCache) created : new RedissonMapAsyncCache(name,
+                    (RMap<Object, Object>) created.getNativeCache(), configs.get(name), allowNullValues);
+            for (UnaryOperator<AsyncCache> decorator : asyncDecorators) {
+                cache = decorator.apply(cache);
+            }
+            return cache;
+        });
+    }
+
+    private boolean exists(String name) {
+        return cacheNames == null || cacheNames.contains(name);
+    }
+
+    private Cache create(String name) {
+        if (storageTypes.getOrDefault(name, storageType) != CacheStorageType.BUCKET) {
+            return super.getCache(name);
+        }
+        return new RedissonBucketCache(name, redisson, codec, configs.get(name), allowNullValues,
+                hashTagCaches.contains(name));
+    }
+
+    private Cache decorate(Cache cache) {
+        Cache decorated = cache;
+        for (UnaryOperator<Cache> decorator : decorators) {
+            decorated = decorator.apply(decorated);
+        }
+        return decorated;
+    }
+
+}
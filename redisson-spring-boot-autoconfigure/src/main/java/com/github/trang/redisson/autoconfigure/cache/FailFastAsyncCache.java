@@ -0,0 +1,67 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.redisson.client.RedisException;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis 异常时降级的 AsyncCache，与 #{@link FailFastCache} 一致，将 RedisException 视为缓存未命中，写入直接跳过，
+ * 删除失败时记录日志后继续以异常完成
+ *
+ * @author trang
+ */
+@Slf4j
+public class FailFastAsyncCache implements AsyncCache {
+
+    private final AsyncCache target;
+
+    public FailFastAsyncCache(AsyncCache target) {
+        this.target = target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> getAsync(Object key) {
+        return target.getAsync(key).exceptionally(e -> {
+            log.debug("cache get skipped, cache: {}, key: {}, cause: {}", getName(), key, unwrap(e).getMessage());
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        return target.putAsync(key, value).exceptionally(e -> {
+            log.debug("cache put skipped, cache: {}, key: {}, cause: {}", getName(), key, unwrap(e).getMessage());
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        return target.evictAsync(key).whenComplete((ignored, e) -> {
+            if (e != null) {
+                log.error("cache evict failed, cache: {}, key: {}, cause: {}", getName(), key, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 只降级 RedisException，其它异常继续抛出
+     */
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (!(cause instanceof RedisException)) {
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+        }
+        return cause;
+    }
+
+}
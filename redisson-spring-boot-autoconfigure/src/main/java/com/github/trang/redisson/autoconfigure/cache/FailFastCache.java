@@ -0,0 +1,133 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.util.concurrent.Callable;
+
+import org.redisson.client.RedisException;
+import org.springframework.cache.Cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis 异常时降级的 Cache，与熔断配合使用
+ *
+ * 节点熔断期间对象调用会立即抛出 #{@link com.github.trang.redisson.autoconfigure.breaker.CircuitBreakerOpenException}，
+ * 这里将 RedisException 视为缓存未命中，写入直接跳过，避免 Redis 异常影响业务；
+ * 删除失败会导致之后读到旧数据，所以 evict、clear 记录日志后继续抛出异常，由业务决定如何处理
+ *
+ * @author trang
+ */
+@Slf4j
+public class FailFastCache implements Cache {
+
+    private final Cache target;
+
+    public FailFastCache(Cache target) {
+        this.target = target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        try {
+            return target.get(key);
+        } catch (RedisException e) {
+            log.debug("cache get skipped, cache: {}, key: {}, cause: {}", getName(), key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        try {
+            return target.get(key, type);
+        } catch (RedisException e) {
+            log.debug("cache get skipped, cache: {}, key: {}, cause: {}", getName(), key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // 记录加载结果，写入缓存失败时不再重复加载
+        Loader<T> loader = new Loader<>(valueLoader);
+        try {
+            return target.get(key, loader);
+        } catch (RedisException e) {
+            log.debug("cache get skipped, cache: {}, key: {}, cause: {}", getName(), key, e.getMessage());
+            if (loader.loaded) {
+                return loader.value;
+            }
+            try {
+                return valueLoader.call();
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        try {
+            target.put(key, value);
+        } catch (RedisException e) {
+            log.debug("cache put skipped, cache: {}, key: {}, cause: {}", getName(), key, e.getMessage());
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        try {
+            return target.putIfAbsent(key, value);
+        } catch (RedisException e) {
+            log.debug("cache put skipped, cache: {}, key: {}, cause: {}", getName(), key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            target.evict(key);
+        } catch (RedisException e) {
+            log.error("cache evict failed, cache: {}, key: {}, cause: {}", getName(), key, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            target.clear();
+        } catch (RedisException e) {
+            log.error("cache clear failed, cache: {}, cause: {}", getName(), e.getMessage());
+            throw e;
+        }
+    }
+
+    private static class Loader<T> implements Callable<T> {
+        private final Callable<T> delegate;
+        private volatile boolean loaded;
+        private volatile T value;
+
+        private Loader(Callable<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T call() throws Exception {
+            value = delegate.call();
+            loaded = true;
+            return value;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * 将 Redisson 的 RFuture 转换为 CompletableFuture
+ *
+ * @author trang
+ */
+final class Futures {
+
+    private Futures() {
+    }
+
+    static <T, R> CompletableFuture<R> toCompletableFuture(CompletionStage<T> stage, Function<T, R> mapper) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        stage.whenComplete((result, e) -> {
+            if (e != null) {
+                future.completeExceptionally(e);
+            } else {
+                future.complete(mapper.apply(result));
+            }
+        });
+        return future;
+    }
+
+}
@@ -0,0 +1,265 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static com.github.trang.redisson.autoconfigure.cache.Futures.toCompletableFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
+import org.redisson.api.RKeys;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.spring.cache.CacheConfig;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+
+import com.github.trang.redisson.autoconfigure.cluster.ClusterSlots;
+
+/**
+ * 每个缓存项对应一个独立 key 的 Cache，key 的格式为 cacheName:key，直接使用 Redis 原生的过期机制
+ *
+ * 1. 配置了 ttl 时，写入时设置过期时间为 ttl
+ * 2. 只配置了 maxIdleTime 时，写入时设置过期时间为 maxIdleTime，读取时通过 RBatch 将 GET 和 PEXPIRE 放在同一次往返中发送，
+ * 未命中时 PEXPIRE 不产生任何效果
+ * 3. 不支持 maxSize，请通过 Redis 的 maxmemory-policy 控制内存
+ *
+ * 缓存项的 key 由 String.valueOf(key) 生成，需要保证其唯一性。cacheName 中的 '\' 和 ':' 会转义为 '\\' 和 '\:'，
+ * 所以 cacheName 之后的第一个未转义的 ':' 即为分隔符，不同 Cache 的 key 不会冲突，cacheName:* 只属于当前 Cache。
+ * 开启 hashTag 后 key 的格式为 {cacheName}:key，集群模式下同一个 Cache 的所有 key 会分配到同一个 slot，
+ * 批量操作及 clear 只需访问一个节点，代价是该 Cache 的全部数据和请求都集中在这个节点上，无法随节点扩容分摊，
+ * 所以只适合数据量和访问量都较小的 Cache，大 Cache 请不要开启
+ *
+ * #{@link #clear()} 通过 SCAN 分批查找并删除，不会阻塞 Redis，但需要遍历所有节点的全部 key，耗时与 key 的总数成正比
+ *
+ * @author trang
+ */
+public class RedissonBucketCache extends AbstractValueAdaptingCache implements BatchWritableCache, AsyncCache {
+
+    /** clear 时每次 SCAN 及 DEL 的 key 数量 */
+    private static final int CLEAR_BATCH_SIZE = 1000;
+
+    private final String name;
+    private final RedissonClient redisson;
+    private final Codec codec;
+    private final long ttl;
+    private final long maxIdleTime;
+    /** 所有 key 的前缀，cacheName 已转义 */
+    private final String prefix;
+
+    public RedissonBucketCache(String name, RedissonClient redisson, Codec codec, CacheConfig config,
+                               boolean allowNullValues) {
+        this(name, redisson, codec, config, allowNullValues, false);
+    }
+
+    public RedissonBucketCache(String name, RedissonClient redisson, Codec codec, CacheConfig config,
+                               boolean allowNullValues, boolean hashTag) {
+        super(allowNullValues);
+        this.name = name;
+        this.redisson = redisson;
+        this.codec = codec;
+        this.ttl = config != null ? config.getTTL() : 0;
+        this.maxIdleTime = config != null ? config.getMaxIdleTime() : 0;
+        this.prefix = hashTag ? ClusterSlots.withHashTag(escape(name), "") : escape(name) + ":";
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisson;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        if (!refreshOnRead()) {
+            return bucket(key).get();
+        }
+        RBatch batch = redisson.createBatch();
+        RFuture<Object> value = bucket(batch, key).getAsync();
+        bucket(batch, key).expireAsync(maxIdleTime, MILLISECONDS);
+        batch.execute();
+        return value.getNow();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        RLock lock = redisson.getLock("redisson__lock__" + keyOf(key));
+        lock.lock();
+        try {
+            wrapper = get(key);
+            if (wrapper != null) {
+                return (T) wrapper.get();
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!isAllowNullValues() && value == null) {
+            evict(key);
+            return;
+        }
+        long expire = expire();
+        if (expire > 0) {
+            bucket(key).set(toStoreValue(value), expire, MILLISECONDS);
+        } else {
+            bucket(key).set(toStoreValue(value));
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (!isAllowNullValues() && value == null) {
+            return get(key);
+        }
+        RBucket<Object> bucket = bucket(key);
+        long expire = expire();
+        boolean absent = expire > 0
+                ? bucket.trySet(toStoreValue(value), expire, MILLISECONDS)
+                : bucket.trySet(toStoreValue(value));
+        return absent ? null : toValueWrapper(bucket.get());
+    }
+
+    @Override
+    public void evict(Object key) {
+        bucket(key).delete();
+    }
+
+    @Override
+    public void clear() {
+        RKeys keys = redisson.getKeys();
+        List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+        for (String key : keys.getKeysByPattern(globEscape(prefix) + "*", CLEAR_BATCH_SIZE)) {
+            batch.add(key);
+            if (batch.size() >= CLEAR_BATCH_SIZE) {
+                keys.delete(batch.toArray(new String[0]));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            keys.delete(batch.toArray(new String[0]));
+        }
+    }
+
+    @Override
+    public void put(RBatch batch, Object key, Object value) {
+        RBucketAsync<Object> bucket = bucket(batch, key);
+        long expire = expire();
+        if (expire > 0) {
+            bucket.setAsync(toStoreValue(value), expire, MILLISECONDS);
+        } else {
+            bucket.setAsync(toStoreValue(value));
+        }
+    }
+
+    @Override
+    public void evict(RBatch batch, Object key) {
+        bucket(batch, key).deleteAsync();
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> getAsync(Object key) {
+        if (!refreshOnRead()) {
+            return toCompletableFuture(bucket(key).getAsync(), this::toValueWrapper);
+        }
+        RBatch batch = redisson.createBatch();
+        RFuture<Object> value = bucket(batch, key).getAsync();
+        bucket(batch, key).expireAsync(maxIdleTime, MILLISECONDS);
+        batch.executeAsync();
+        return toCompletableFuture(value, this::toValueWrapper);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        if (!isAllowNullValues() && value == null) {
+            return evictAsync(key);
+        }
+        long expire = expire();
+        return expire > 0
+                ? toCompletableFuture(bucket(key).setAsync(toStoreValue(value), expire, MILLISECONDS), result -> null)
+                : toCompletableFuture(bucket(key).setAsync(toStoreValue(value)), result -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        return toCompletableFuture(bucket(key).deleteAsync(), result -> null);
+    }
+
+    /**
+     * 反序列化后的 NullValue 不是单例，不能用 == 判断
+     */
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return storeValue instanceof NullValue ? null : storeValue;
+    }
+
+    /**
+     * 只配置了 maxIdleTime 时，读取时需要重新设置过期时间
+     */
+    private boolean refreshOnRead() {
+        return ttl <= 0 && maxIdleTime > 0;
+    }
+
+    private long expire() {
+        return ttl > 0 ? ttl : maxIdleTime;
+    }
+
+    private RBucket<Object> bucket(Object key) {
+        return codec != null ? redisson.getBucket(keyOf(key), codec) : redisson.getBucket(keyOf(key));
+    }
+
+    private RBucketAsync<Object> bucket(RBatch batch, Object key) {
+        return codec != null ? batch.getBucket(keyOf(key), codec) : batch.getBucket(keyOf(key));
+    }
+
+    String keyOf(Object key) {
+        return prefix + key;
+    }
+
+    /**
+     * 转义 cacheName 中的 '\' 和 ':'
+     */
+    static String escape(String name) {
+        return name.replace("\\", "\\\\").replace(":", "\\:");
+    }
+
+    /**
+     * 转义 glob 中的特殊字符
+     */
+    static String globEscape(String text) {
+        StringBuilder builder = new StringBuilder(text.length() + 8);
+        for (char c : text.toCharArray()) {
+            if (c == '\\' || c == '*' || c == '?' || c == '[' || c == ']') {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static com.github.trang.redisson.autoconfigure.cache.Futures.toCompletableFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RMapCache;
+import org.redisson.spring.cache.CacheConfig;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * 与 RedissonSpringCacheManager 创建的 Cache 共享同一个 RMap 的 AsyncCache，事务内的写操作可以放入提交时的 RBatch
+ *
+ * @author trang
+ */
+public class RedissonMapAsyncCache implements AsyncCache, BatchWritableCache {
+
+    private final String name;
+    private final RMap<Object, Object> map;
+    /** RMapCache 的过期配置，map 为 RMapCache 时不能为 null */
+    private final CacheConfig config;
+    private final boolean allowNullValues;
+
+    public RedissonMapAsyncCache(String name, RMap<Object, Object> map, CacheConfig config, boolean allowNullValues) {
+        // RMapCache 写入时需要过期配置，没有时无法与 RedissonCache 保持一致
+        if (map instanceof RMapCache && config == null) {
+            throw new IllegalArgumentException("no cache config found for RMapCache: " + name);
+        }
+        this.name = name;
+        this.map = map;
+        this.config = config;
+        this.allowNullValues = allowNullValues;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> getAsync(Object key) {
+        return toCompletableFuture(map.getAsync(key), RedissonMapAsyncCache::toValueWrapper);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        if (value == null) {
+            // null 值的存储方式由 RedissonCache 决定，这里不缓存
+            return allowNullValues ? CompletableFuture.completedFuture(null) : evictAsync(key);
+        }
+        if (map instanceof RMapCache) {
+            return toCompletableFuture(((RMapCache<Object, Object>) map).fastPutAsync(key, value,
+                    config.getTTL(), MILLISECONDS, config.getMaxIdleTime(), MILLISECONDS), result -> null);
+        }
+        return toCompletableFuture(map.fastPutAsync(key, value), result -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        return toCompletableFuture(map.fastRemoveAsync(key), result -> null);
+    }
+
+    @Override
+    public void put(RBatch batch, Object key, Object value) {
+        if (map instanceof RMapCache) {
+            batch.getMapCache(map.getName(), map.getCodec()).fastPutAsync(key, value,
+                    config.getTTL(), MILLISECONDS, config.getMaxIdleTime(), MILLISECONDS);
+        } else {
+            batch.getMap(map.getName(), map.getCodec()).fastPutAsync(key, value);
+        }
+    }
+
+    @Override
+    public void evict(RBatch batch, Object key) {
+        // RMapCache 需要通过 getMapCache 操作，才能同时清理过期信息
+        RMapAsync<Object, Object> target = map instanceof RMapCache
+                ? batch.getMapCache(map.getName(), map.getCodec()) : batch.getMap(map.getName(), map.getCodec());
+        target.fastRemoveAsync(key);
+    }
+
+    /**
+     * RedissonCache 会将 null 值包装后存储，这里兼容 Spring 的 NullValue 及实现了 ValueWrapper 的包装类
+     */
+    private static ValueWrapper toValueWrapper(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof NullValue) {
+            return new SimpleValueWrapper(null);
+        }
+        if (value instanceof ValueWrapper) {
+            return (ValueWrapper) value;
+        }
+        return new SimpleValueWrapper(value);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.redisson.api.RedissonClient;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务感知的 AsyncCache，与 #{@link TransactionAwareRedissonCache} 共用当前事务的缓冲区
+ *
+ * 调用线程存在事务同步时，putAsync、evictAsync 缓冲到事务提交后执行，返回已完成的 CompletableFuture，事务回滚时丢弃；
+ * 目标 AsyncCache 实现了 #{@link BatchWritableCache} 时与同步 Cache 的写操作放入同一个 RBatch 发送；
+ * 在其它线程（如 Redisson 的回调线程）上调用时没有事务同步，直接操作目标 AsyncCache
+ *
+ * @author trang
+ */
+public class TransactionAwareAsyncCache implements AsyncCache {
+
+    private final AsyncCache target;
+    private final RedissonClient redisson;
+
+    public TransactionAwareAsyncCache(AsyncCache target, RedissonClient redisson) {
+        this.target = target;
+        this.redisson = redisson;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> getAsync(Object key) {
+        return target.getAsync(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return target.putAsync(key, value);
+        }
+        CacheWriteBuffer buffer = CacheWriteBuffer.current(redisson);
+        // null 值的存储方式由目标 AsyncCache 决定，单独执行
+        if (value != null && target instanceof BatchWritableCache) {
+            buffer.addBatched(batch -> ((BatchWritableCache) target).put(batch, key, value));
+        } else {
+            buffer.addDirect(() -> target.putAsync(key, value));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return target.evictAsync(key);
+        }
+        CacheWriteBuffer buffer = CacheWriteBuffer.current(redisson);
+        if (target instanceof BatchWritableCache) {
+            buffer.addBatched(batch -> ((BatchWritableCache) target).evict(batch, key));
+        } else {
+            buffer.addDirect(() -> target.evictAsync(key));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.Callable;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.spring.cache.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务感知的 Cache
+ *
+ * 存在事务同步时，put、evict、clear 操作会缓冲到事务提交后以一个 RBatch 批量发送，事务回滚时丢弃；
+ * 不存在事务同步时直接操作目标 Cache。get、putIfAbsent 需要立即得到结果，始终直接操作目标 Cache
+ *
+ * @author trang
+ */
+public class TransactionAwareRedissonCache implements Cache {
+
+    private final Cache target;
+    private final RedissonClient redisson;
+    /** 目标 Cache 对应的 RMap，既不是 RMap 也不是 BatchWritableCache 时所有操作都在事务提交后单独执行 */
+    private final RMap<?, ?> map;
+    /** RMapCache 的过期配置，写入时需要 */
+    private final CacheConfig config;
+
+    public TransactionAwareRedissonCache(Cache target, RedissonClient redisson, CacheConfig config) {
+        this.target = target;
+        this.redisson = redisson;
+        this.map = target.getNativeCache() instanceof RMap ? (RMap<?, ?>) target.getNativeCache() : null;
+        this.config = config;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return target.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return target.get(key, valueLoader);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return target.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            target.put(key, value);
+            return;
+        }
+        CacheWriteBuffer buffer = CacheWriteBuffer.current(redisson);
+        // null 值的存储方式由目标 Cache 决定；通过 configLocation 声明的 RMapCache 拿不到过期配置，这两种情况单独执行
+        if (value != null && target instanceof BatchWritableCache) {
+            buffer.addBatched(batch -> ((BatchWritableCache) target).put(batch, key, value));
+        } else if (map == null || value == null || (map instanceof RMapCache && config == null)) {
+            buffer.addDirect(() -> target.put(key, value));
+        } else if (map instanceof RMapCache) {
+            buffer.addBatched(batch -> batch.getMapCache(map.getName(), codec())
+                    .fastPutAsync(key, value, config.getTTL(), MILLISECONDS, config.getMaxIdleTime(), MILLISECONDS));
+        } else {
+            buffer.addBatched(batch -> batch.getMap(map.getName(), codec()).fastPutAsync(key, value));
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            target.evict(key);
+            return;
+        }
+        CacheWriteBuffer buffer = CacheWriteBuffer.current(redisson);
+        if (target instanceof BatchWritableCache) {
+            buffer.addBatched(batch -> ((BatchWritableCache) target).evict(batch, key));
+        } else if (map == null) {
+            buffer.addDirect(() -> target.evict(key));
+        } else {
+            buffer.addBatched(batch -> mapOf(batch).fastRemoveAsync(key));
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            target.clear();
+            return;
+        }
+        CacheWriteBuffer buffer = CacheWriteBuffer.current(redisson);
+        if (map == null) {
+            buffer.addDirect(target::clear);
+        } else {
+            buffer.addBatched(batch -> mapOf(batch).deleteAsync());
+        }
+    }
+
+    private RMapAsync<Object, Object> mapOf(RBatch batch) {
+        // RMapCache 需要通过 getMapCache 操作，才能同时清理过期信息
+        return map instanceof RMapCache ? batch.getMapCache(map.getName(), codec()) : batch.getMap(map.getName(), codec());
+    }
+
+    private Codec codec() {
+        return map.getCodec();
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.github.trang.redisson.autoconfigure.cluster;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Redis Cluster 的 slot 计算工具，与服务端算法一致：CRC16(key) mod 16384，存在 hash tag 时只计算 {} 中的内容
+ *
+ * @author trang
+ */
+public final class ClusterSlots {
+
+    /** slot 总数 */
+    public static final int SLOTS = 16384;
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        // CRC16-CCITT (XMODEM)，多项式 0x1021
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            TABLE[i] = crc & 0xFFFF;
+        }
+    }
+
+    private ClusterSlots() {
+    }
+
+    /**
+     * 计算 key 所在的 slot
+     *
+     * @param key key
+     * @return slot
+     */
+    public static int slot(String key) {
+        return crc16(hashTag(key).getBytes(UTF_8)) % SLOTS;
+    }
+
+    /**
+     * 使用 hash tag 包装 key，拥有相同 tag 的 key 会分配到同一个 slot
+     *
+     * 同一个 tag 下的数据和请求都集中在一个节点上，tag 的粒度越粗越容易形成热点，
+     * 应按需要原子操作或批量访问的最小范围（如用户 id）选择 tag，而不是整个业务
+     *
+     * @param tag tag
+     * @param key key
+     * @return {tag}:key
+     */
+    public static String withHashTag(String tag, String key) {
+        return "{" + tag + "}:" + key;
+    }
+
+    /**
+     * 按 slot 分组，同一组内的 key 可以放在一个多 key 命令中执行，不会出现 CROSSSLOT 异常
+     *
+     * @param keys keys
+     * @return key 为 slot，value 为该 slot 下的 key
+     */
+    public static Map<Integer, List<String>> groupBySlot(Collection<String> keys) {
+        Map<Integer, List<String>> groups = new TreeMap<>();
+        for (String key : keys) {
+            groups.computeIfAbsent(slot(key), slot -> new ArrayList<>()).add(key);
+        }
+        return groups;
+    }
+
+    private static String hashTag(String key) {
+        int start = key.indexOf('{');
+        if (start != -1) {
+            int end = key.indexOf('}', start + 1);
+            // {} 中的内容为空时，按整个 key 计算
+            if (end > start + 1) {
+                return key.substring(start + 1, end);
+            }
+        }
+        return key;
+    }
+
+    private static int crc16(byte[] bytes) {
+        int crc = 0;
+        for (byte b : bytes) {
+            crc = ((crc << 8) ^ TABLE[((crc >>> 8) ^ b) & 0xFF]) & 0xFFFF;
+        }
+        return crc;
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.github.trang.redisson.autoconfigure.cluster;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+/**
+ * 批量读写工具
+ *
+ * 基于 RBatch 实现，Redisson 会将命令按所在节点分组后并行发送，集群模式下请求次数取决于节点数量而不是 key 的数量；
+ * 每个 key 使用单独的命令，不会出现 CROSSSLOT 异常。需要使用多 key 命令时，可以通过 #{@link ClusterSlots#groupBySlot} 分组
+ *
+ * @author trang
+ */
+public class RedissonBulkOperations {
+
+    private final RedissonClient redisson;
+    private final Codec codec;
+
+    public RedissonBulkOperations(RedissonClient redisson) {
+        this(redisson, null);
+    }
+
+    /**
+     * @param redisson redisson 客户端
+     * @param codec    序列化方式，为 null 时使用 RedissonClient 的默认配置
+     */
+    public RedissonBulkOperations(RedissonClient redisson, Codec codec) {
+        this.redisson = redisson;
+        this.codec = codec;
+    }
+
+    /**
+     * 批量获取
+     *
+     * @param keys keys
+     * @param <V>  value 类型
+     * @return 存在的 key 及其 value，按 keys 的顺序排列
+     */
+    public <V> Map<String, V> get(Collection<String> keys) {
+        Map<String, V> result = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        RBatch batch = redisson.createBatch();
+        Map<String, RFuture<V>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            futures.put(key, this.<V>bucket(batch, key).getAsync());
+        }
+        batch.execute();
+        futures.forEach((key, future) -> {
+            V value = future.getNow();
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 批量写入，不过期
+     *
+     * @param entries key-value
+     */
+    public void set(Map<String, ?> entries) {
+        set(entries, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 批量写入
+     *
+     * @param entries key-value
+     * @param ttl     过期时间，小于等于 0 时不过期
+     * @param unit    过期时间单位
+     */
+    public void set(Map<String, ?> entries, long ttl, TimeUnit unit) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        RBatch batch = redisson.createBatch();
+        entries.forEach((key, value) -> {
+            RBucketAsync<Object> bucket = bucket(batch, key);
+            if (ttl > 0) {
+                bucket.setAsync(value, ttl, unit);
+            } else {
+                bucket.setAsync(value);
+            }
+        });
+        batch.execute();
+    }
+
+    /**
+     * 批量删除
+     *
+     * @param keys keys
+     * @return 删除成功的数量
+     */
+    public long delete(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        RBatch batch = redisson.createBatch();
+        Map<String, RFuture<Boolean>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            futures.put(key, bucket(batch, key).deleteAsync());
+        }
+        batch.execute();
+        return futures.values().stream().filter(future -> Boolean.TRUE.equals(future.getNow())).count();
+    }
+
+    private <V> RBucketAsync<V> bucket(RBatch batch, String key) {
+        return codec != null ? batch.getBucket(key, codec) : batch.getBucket(key);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.github.trang.redisson.autoconfigure.enums;
+
+/**
+ * Netty ByteBuf 分配器类型，对应系统属性 io.netty.allocator.type
+ *
+ * @author trang
+ */
+public enum ByteBufAllocatorType {
+
+    /**
+     * 池化，按 arena 分配并复用内存，Netty 的默认值
+     */
+    POOLED("pooled"),
+
+    /**
+     * 非池化，每次分配新的内存，内存占用低，但分配开销大
+     */
+    UNPOOLED("unpooled");
+
+    private final String value;
+
+    ByteBufAllocatorType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+}
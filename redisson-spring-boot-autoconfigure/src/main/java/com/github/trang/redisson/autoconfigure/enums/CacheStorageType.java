@@ -0,0 +1,20 @@
+package com.github.trang.redisson.autoconfigure.enums;
+
+/**
+ * 缓存存储方式
+ *
+ * @author trang
+ */
+public enum CacheStorageType {
+
+    /**
+     * 每个 Cache 对应一个 RMap，配置了 ttl、maxIdleTime 或 maxSize 时使用 RMapCache，由后台任务扫描清理过期数据
+     */
+    MAP,
+
+    /**
+     * 每个缓存项对应一个独立的 key，直接使用 Redis 原生的过期机制，不支持 maxSize
+     */
+    BUCKET
+
+}
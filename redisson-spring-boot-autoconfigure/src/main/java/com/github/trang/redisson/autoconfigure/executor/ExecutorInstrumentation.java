@@ -0,0 +1,119 @@
+package com.github.trang.redisson.autoconfigure.executor;
+
+import static com.github.trang.redisson.autoconfigure.support.Proxies.invoke;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.api.RFuture;
+import org.redisson.api.RScheduledExecutorService;
+
+import com.github.trang.redisson.autoconfigure.support.Proxies;
+
+/**
+ * 为 RExecutorService 及其 worker 线程池增加统计
+ *
+ * 提交端只统计 submit、submitAsync，批量提交按任务数计数；schedule 系列方法的耗时包含延迟时间，周期任务也不会完成，不做统计
+ *
+ * @author trang
+ */
+public final class ExecutorInstrumentation {
+
+    private ExecutorInstrumentation() {
+    }
+
+    public static RScheduledExecutorService wrap(RScheduledExecutorService executorService, ExecutorStats stats) {
+        return Proxies.create(RScheduledExecutorService.class, executorService, (method, args) -> {
+            String name = method.getName();
+            if (!"submit".equals(name) && !"submitAsync".equals(name)) {
+                return invoke(executorService, method, args);
+            }
+            int tasks = taskCount(method, args);
+            long start = System.nanoTime();
+            Object result = invoke(executorService, method, args);
+            if (result instanceof RFuture && tasks > 0) {
+                stats.onSubmit(tasks);
+                ((RFuture<?>) result).whenComplete((value, e) ->
+                        stats.onComplete(NANOSECONDS.toMillis(System.nanoTime() - start), e == null, tasks));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * submit(Callable...)、submitAsync(Runnable...) 等批量提交方法返回整批的 RExecutorBatchFuture，按任务数统计
+     */
+    private static int taskCount(Method method, Object[] args) {
+        if (method.isVarArgs() && args != null && args.length == 1 && args[0] != null && args[0].getClass().isArray()) {
+            return Array.getLength(args[0]);
+        }
+        return 1;
+    }
+
+    /**
+     * 包装 worker 线程池，统计每个任务的执行耗时
+     *
+     * @param executor worker 线程池
+     * @param stats    统计
+     * @return 包装后的线程池，关闭时同时关闭被包装的线程池
+     */
+    public static ExecutorService wrap(ExecutorService executor, ExecutorStats stats) {
+        return new InstrumentedExecutorService(executor, stats);
+    }
+
+    private static class InstrumentedExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final ExecutorStats stats;
+
+        private InstrumentedExecutorService(ExecutorService delegate, ExecutorStats stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(() -> {
+                stats.onStart();
+                long start = System.nanoTime();
+                try {
+                    command.run();
+                } finally {
+                    stats.onFinish(NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+    }
+
+}
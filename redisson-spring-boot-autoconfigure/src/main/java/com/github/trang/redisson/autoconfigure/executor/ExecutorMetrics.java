@@ -0,0 +1,44 @@
+package com.github.trang.redisson.autoconfigure.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * RExecutorService 的统计，通过 actuator 的 metrics 端点展示，名称为 redisson.executor.[name].*
+ *
+ * 只有本节点的视角，inflight 为本节点提交、尚未完成的任务数，不是集群的队列深度
+ *
+ * @author trang
+ */
+public class ExecutorMetrics implements PublicMetrics {
+
+    private final ExecutorStatsRegistry registry;
+
+    public ExecutorMetrics(ExecutorStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        registry.getAll().forEach((name, stats) -> {
+            String prefix = "redisson.executor." + name + ".";
+            metrics.add(new Metric<>(prefix + "submitted", stats.getSubmitted()));
+            metrics.add(new Metric<>(prefix + "inflight", stats.getInflight()));
+            metrics.add(new Metric<>(prefix + "completed", stats.getCompleted()));
+            metrics.add(new Metric<>(prefix + "failed", stats.getFailed()));
+            metrics.add(new Metric<>(prefix + "latency.mean", stats.getLatencyMean()));
+            metrics.add(new Metric<>(prefix + "latency.max", stats.getLatencyMax()));
+            metrics.add(new Metric<>(prefix + "worker.running", stats.getRunning()));
+            metrics.add(new Metric<>(prefix + "worker.executed", stats.getExecuted()));
+            metrics.add(new Metric<>(prefix + "worker.execution.mean", stats.getExecutionMean()));
+            metrics.add(new Metric<>(prefix + "worker.execution.max", stats.getExecutionMax()));
+        });
+        return metrics;
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.github.trang.redisson.autoconfigure.executor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个 RExecutorService 在本节点的统计
+ *
+ * 1. 提交端：本节点通过 submit 提交的任务数、未完成数、失败数及从提交到完成的耗时；
+ * 2. 执行端：本节点 worker 正在执行的任务数、已执行数及执行耗时
+ *
+ * 当前版本的 Redisson 没有提供查询任务数的 API，所以这里只有本节点的视角，未完成数不是集群的队列深度；
+ * 本节点 worker 线程池的队列也不能反映积压，Redisson 只在 worker 空闲时才从 Redis 中取出任务
+ *
+ * @author trang
+ */
+public class ExecutorStats {
+
+    private final LongAdder submitted = new LongAdder();
+    private final AtomicLong inflight = new AtomicLong();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder latencyTotal = new LongAdder();
+    private final LongAccumulator latencyMax = new LongAccumulator(Math::max, 0);
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder executionTotal = new LongAdder();
+    private final LongAccumulator executionMax = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param tasks 本次提交的任务数，批量提交时大于 1
+     */
+    void onSubmit(int tasks) {
+        submitted.add(tasks);
+        inflight.addAndGet(tasks);
+    }
+
+    /**
+     * @param latencyMillis 提交到完成的耗时，批量提交时为整批的耗时，每个任务都按该耗时统计
+     * @param success       是否成功，批量提交时任一任务失败则整批计为失败
+     * @param tasks         本次提交的任务数
+     */
+    void onComplete(long latencyMillis, boolean success, int tasks) {
+        inflight.addAndGet(-tasks);
+        if (success) {
+            completed.add(tasks);
+        } else {
+            failed.add(tasks);
+        }
+        latencyTotal.add(latencyMillis * tasks);
+        latencyMax.accumulate(latencyMillis);
+    }
+
+    void onStart() {
+        running.incrementAndGet();
+    }
+
+    void onFinish(long executionMillis) {
+        running.decrementAndGet();
+        executed.increment();
+        executionTotal.add(executionMillis);
+        executionMax.accumulate(executionMillis);
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return 本节点提交、尚未完成的任务数，不是集群的队列深度
+     */
+    public long getInflight() {
+        return inflight.get();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return 从提交到完成的平均耗时，单位：ms
+     */
+    public double getLatencyMean() {
+        long count = completed.sum() + failed.sum();
+        return count == 0 ? 0 : (double) latencyTotal.sum() / count;
+    }
+
+    /**
+     * @return 从提交到完成的最大耗时，单位：ms
+     */
+    public long getLatencyMax() {
+        return latencyMax.get();
+    }
+
+    public int getRunning() {
+        return running.get();
+    }
+
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    /**
+     * @return 本节点 worker 的平均执行耗时，单位：ms
+     */
+    public double getExecutionMean() {
+        long count = executed.sum();
+        return count == 0 ? 0 : (double) executionTotal.sum() / count;
+    }
+
+    /**
+     * @return 本节点 worker 的最大执行耗时，单位：ms
+     */
+    public long getExecutionMax() {
+        return executionMax.get();
+    }
+
+}
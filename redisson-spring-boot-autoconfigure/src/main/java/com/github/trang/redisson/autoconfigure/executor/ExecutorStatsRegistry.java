@@ -0,0 +1,24 @@
+package com.github.trang.redisson.autoconfigure.executor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 各个 RExecutorService 的统计，key 为 RExecutorService 的名称
+ *
+ * @author trang
+ */
+public class ExecutorStatsRegistry {
+
+    private final Map<String, ExecutorStats> stats = new ConcurrentHashMap<>();
+
+    public ExecutorStats get(String name) {
+        return stats.computeIfAbsent(name, n -> new ExecutorStats());
+    }
+
+    public Map<String, ExecutorStats> getAll() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.github.trang.redisson.autoconfigure.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 对冲读策略
+ *
+ * 1. 延迟：percentile 大于 0 时取最近 sampleSize 次读取耗时的该分位值，且不小于 delay，否则固定为 delay；
+ * 2. 频率上限：每次读取积累 maxRatio 个对冲额度，每次对冲消耗 1 个，额度最多积累 burst 个，
+ * 所以长期来看对冲次数不超过读取次数的 maxRatio 倍
+ *
+ * @author trang
+ */
+public class HedgePolicy {
+
+    /** 额度的精度 */
+    private static final long SCALE = 1000;
+
+    private final long delay;
+    private final int percentile;
+    private final long ratePerRequest;
+    private final long maxBudget;
+    private final long[] samples;
+    private final AtomicLong sampleIndex = new AtomicLong();
+    private final AtomicLong budget = new AtomicLong();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private volatile long percentileDelay;
+
+    /**
+     * @param delay      对冲延迟，使用分位值时为下限，单位：ms
+     * @param percentile 分位值，如 95，小于等于 0 时使用固定延迟
+     * @param sampleSize 计算分位值的样本数
+     * @param maxRatio   对冲次数与读取次数的最大比值
+     * @param burst      对冲额度的最大积累数量
+     */
+    public HedgePolicy(long delay, int percentile, int sampleSize, double maxRatio, int burst) {
+        this.delay = delay;
+        this.percentile = Math.min(percentile, 100);
+        this.samples = new long[Math.max(sampleSize, 1)];
+        this.ratePerRequest = (long) (maxRatio * SCALE);
+        this.maxBudget = Math.max(burst, 1) * SCALE;
+        this.percentileDelay = delay;
+    }
+
+    /**
+     * @return 发出对冲读之前的等待时间，单位：ms
+     */
+    public long getDelay() {
+        return percentile > 0 ? Math.max(delay, percentileDelay) : delay;
+    }
+
+    /**
+     * @return 读取次数
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return 对冲次数
+     */
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * 记录一次读取，积累对冲额度
+     */
+    void onRequest() {
+        requests.increment();
+        budget.accumulateAndGet(ratePerRequest, (current, delta) -> Math.min(current + delta, maxBudget));
+    }
+
+    /**
+     * 消耗一个对冲额度
+     *
+     * @return 是否允许对冲
+     */
+    boolean tryHedge() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - SCALE));
+        hedges.increment();
+        return true;
+    }
+
+    /**
+     * 记录首次读取的耗时，样本每更新十分之一重新计算一次分位值
+     *
+     * @param elapsedMillis 耗时，单位：ms
+     */
+    void record(long elapsedMillis) {
+        if (percentile <= 0) {
+            return;
+        }
+        long index = sampleIndex.getAndIncrement();
+        samples[(int) (index % samples.length)] = elapsedMillis;
+        long filled = Math.min(index + 1, samples.length);
+        if ((index + 1) % Math.max(samples.length / 10, 1) == 0) {
+            long[] sorted = Arrays.copyOf(samples, (int) filled);
+            Arrays.sort(sorted);
+            percentileDelay = sorted[(int) Math.min(filled - 1, filled * percentile / 100)];
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.github.trang.redisson.autoconfigure.hedge;
+
+import static com.github.trang.redisson.autoconfigure.support.Proxies.invoke;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.redisson.api.RBlockingQueue;
+import org.redisson.api.RCountDownLatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RObject;
+import org.redisson.api.RPermitExpirableSemaphore;
+import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RSemaphore;
+import org.redisson.api.RSetCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.misc.RedissonPromise;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.github.trang.redisson.autoconfigure.support.Proxies;
+
+/**
+ * 为 RedissonClient 获取到的对象增加对冲读
+ *
+ * 只读方法在超过 #{@link HedgePolicy#getDelay()} 仍未返回时，再发送一次相同的读命令，取先返回的结果；
+ * 第二次读命令同样经过 Redisson 的负载均衡选择从节点，默认的轮询策略下通常会发送到另一个从节点。
+ * 只有 readMode 为 SLAVE 或 MASTER_SLAVE 时才有意义，单机模式及 readMode 为 MASTER 时两次读取发送到同一个节点。
+ *
+ * 同步方法通过对应的 xxxAsync 方法发送，没有异步版本的方法不做对冲；RMapCache、RSetCache 的读操作需要在 master 上执行，不做对冲
+ *
+ * @author trang
+ */
+public final class HedgedReads {
+
+    /** 对冲的只读方法，异步版本为 方法名 + Async */
+    private static final Set<String> READ_METHODS = new HashSet<>(Arrays.asList(
+            "get", "getAll", "containsKey", "containsValue", "contains", "containsAll", "size", "isExists",
+            "readAll", "readAllMap", "readAllKeySet", "readAllValues", "readAllEntrySet", "valueSize",
+            "remainTimeToLive", "getScore", "rank", "revRank", "valueRange", "entryRange", "count"));
+    /**
+     * 不做对冲的类型：
+     * 1. 锁等对象只能在 master 上操作；
+     * 2. RMapCache、RSetCache 的读操作通过 Lua 脚本过滤过期数据并刷新最大空闲时间，实际是写操作，只能在 master 上执行，
+     * 对冲会重复写入
+     */
+    private static final List<Class<?>> EXCLUDED_TYPES = Arrays.asList(RLock.class, RReadWriteLock.class,
+            RSemaphore.class, RPermitExpirableSemaphore.class, RCountDownLatch.class, RBlockingQueue.class,
+            RMapCache.class, RSetCache.class);
+    /** 同步方法对应的异步方法，key 为代理的接口类型 */
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<Method, Optional<Method>>> ASYNC_METHODS =
+            new ConcurrentHashMap<>();
+
+    private HedgedReads() {
+    }
+
+    public static RedissonClient wrap(RedissonClient redisson, HedgePolicy policy) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("redisson-hedge-");
+        threadFactory.setDaemon(true);
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        scheduler.setRemoveOnCancelPolicy(true);
+        return Proxies.create(RedissonClient.class, redisson, (method, args) -> {
+            if ("shutdown".equals(method.getName())) {
+                scheduler.shutdownNow();
+            }
+            Object result = invoke(redisson, method, args);
+            Class<?> type = method.getReturnType();
+            if (result == null || !type.isInterface() || !RObject.class.isAssignableFrom(type)
+                    || args == null || args.length == 0 || !(args[0] instanceof String)
+                    || EXCLUDED_TYPES.stream().anyMatch(excluded -> excluded.isAssignableFrom(type))) {
+                return result;
+            }
+            return wrap(type, result, policy, scheduler);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Object target, HedgePolicy policy, ScheduledThreadPoolExecutor scheduler) {
+        return Proxies.create(type, (T) target, (method, args) -> {
+            String name = method.getName();
+            boolean async = name.endsWith("Async") && RFuture.class.isAssignableFrom(method.getReturnType());
+            if (!READ_METHODS.contains(async ? name.substring(0, name.length() - "Async".length()) : name)) {
+                return invoke(target, method, args);
+            }
+            Method asyncMethod = async ? method : ASYNC_METHODS
+                    .computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(method, m -> findAsync(type, m))
+                    .orElse(null);
+            if (asyncMethod == null) {
+                return invoke(target, method, args);
+            }
+            RFuture<Object> future = hedge(() -> (RFuture<Object>) invoke(target, asyncMethod, args), policy, scheduler);
+            if (async) {
+                return future;
+            }
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RedisException("Interrupted while waiting for read", e);
+            }
+        });
+    }
+
+    private static RFuture<Object> hedge(Read read, HedgePolicy policy, ScheduledThreadPoolExecutor scheduler)
+            throws Throwable {
+        RedissonPromise<Object> promise = new RedissonPromise<>();
+        // 未完成的读取次数，全部失败时才返回失败
+        AtomicInteger pending = new AtomicInteger(1);
+        long start = System.nanoTime();
+        policy.onRequest();
+        read.send().whenComplete((value, e) -> {
+            policy.record(NANOSECONDS.toMillis(System.nanoTime() - start));
+            complete(promise, value, e, pending);
+        });
+        if (promise.isDone()) {
+            return promise;
+        }
+        ScheduledFuture<?> timer = scheduler.schedule(() -> {
+            if (promise.isDone() || !policy.tryHedge()) {
+                return;
+            }
+            pending.incrementAndGet();
+            try {
+                read.send().whenComplete((value, e) -> complete(promise, value, e, pending));
+            } catch (Throwable e) {
+                complete(promise, null, e, pending);
+            }
+        }, policy.getDelay(), MILLISECONDS);
+        promise.whenComplete((value, e) -> timer.cancel(false));
+        return promise;
+    }
+
+    private static void complete(RedissonPromise<Object> promise, Object value, Throwable e, AtomicInteger pending) {
+        if (e == null) {
+            promise.trySuccess(value);
+        } else if (pending.decrementAndGet() == 0) {
+            promise.tryFailure(e);
+        }
+    }
+
+    private static Optional<Method> findAsync(Class<?> type, Method method) {
+        try {
+            Method async = type.getMethod(method.getName() + "Async", method.getParameterTypes());
+            return RFuture.class.isAssignableFrom(async.getReturnType()) ? Optional.of(async) : Optional.empty();
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Read {
+        RFuture<Object> send() throws Throwable;
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.github.trang.redisson.autoconfigure.lock;
+
+import static com.github.trang.redisson.autoconfigure.support.Proxies.invoke;
+
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RedissonClient;
+
+import com.github.trang.redisson.autoconfigure.lock.LockMetrics.LockType;
+import com.github.trang.redisson.autoconfigure.support.Proxies;
+
+/**
+ * 为 RedissonClient 获取到的锁增加监控
+ *
+ * 仅对 getLock、getFairLock、getReadWriteLock 返回的锁生效，同步方法以当前线程为持有线程，
+ * 异步方法以参数中的 threadId 为持有线程，未指定时为调用线程，与 Redisson 的判断方式一致
+ *
+ * @author trang
+ */
+public final class LockInstrumentation {
+
+    private LockInstrumentation() {
+    }
+
+    /**
+     * @param redisson        RedissonClient
+     * @param lockMetrics     锁监控
+     * @param watchdogTimeout 该 RedissonClient 的 lockWatchdogTimeout，单位：ms，用于估算续期次数
+     * @return 包装后的 RedissonClient
+     */
+    public static RedissonClient wrap(RedissonClient redisson, LockMetrics lockMetrics, long watchdogTimeout) {
+        return Proxies.create(RedissonClient.class, redisson, (method, args) -> {
+            Object result = invoke(redisson, method, args);
+            switch (method.getName()) {
+                case "getLock":
+                    return wrap((RLock) result, LockType.LOCK, lockMetrics, watchdogTimeout);
+                case "getFairLock":
+                    return wrap((RLock) result, LockType.FAIR, lockMetrics, watchdogTimeout);
+                case "getReadWriteLock":
+                    return wrap((RReadWriteLock) result, lockMetrics, watchdogTimeout);
+                default:
+                    return result;
+            }
+        });
+    }
+
+    static RReadWriteLock wrap(RReadWriteLock readWriteLock, LockMetrics lockMetrics, long watchdogTimeout) {
+        return Proxies.create(RReadWriteLock.class, readWriteLock, (method, args) -> {
+            Object result = invoke(readWriteLock, method, args);
+            if (!(result instanceof RLock)) {
+                return result;
+            }
+            LockType type = "readLock".equals(method.getName()) ? LockType.READ : LockType.WRITE;
+            return wrap((RLock) result, type, lockMetrics, watchdogTimeout);
+        });
+    }
+
+    static RLock wrap(RLock lock, LockType type, LockMetrics lockMetrics, long watchdogTimeout) {
+        String name = lock.getName();
+        return Proxies.create(RLock.class, lock, (method, args) -> {
+            Thread current = Thread.currentThread();
+            int length = args != null ? args.length : 0;
+            switch (method.getName()) {
+                // lock()、lock(leaseTime, unit)、lockInterruptibly()、lockInterruptibly(leaseTime, unit)
+                case "lock":
+                case "lockInterruptibly": {
+                    long start = System.nanoTime();
+                    Object result = invoke(lock, method, args);
+                    long leaseTime = length == 2 ? leaseTime(args[0], args[1]) : -1;
+                    lockMetrics.recordAcquired(name, type, current.getId(), current, System.nanoTime() - start,
+                            leaseTime, watchdogTimeout);
+                    return result;
+                }
+                // tryLock()、tryLock(waitTime, unit)、tryLock(waitTime, leaseTime, unit)
+                case "tryLock": {
+                    long start = System.nanoTime();
+                    boolean acquired = (Boolean) invoke(lock, method, args);
+                    long waitNanos = System.nanoTime() - start;
+                    if (acquired) {
+                        long leaseTime = length == 3 ? leaseTime(args[1], args[2]) : -1;
+                        lockMetrics.recordAcquired(name, type, current.getId(), current, waitNanos, leaseTime,
+                                watchdogTimeout);
+                    } else {
+                        lockMetrics.recordFailed(name, waitNanos);
+                    }
+                    return acquired;
+                }
+                case "unlock": {
+                    try {
+                        Object result = invoke(lock, method, args);
+                        lockMetrics.recordReleased(name, type, current.getId());
+                        return result;
+                    } catch (IllegalMonitorStateException e) {
+                        // 租约已到期，锁已不再由当前线程持有
+                        lockMetrics.recordLost(name, type, current.getId());
+                        throw e;
+                    }
+                }
+                case "forceUnlock": {
+                    Object result = invoke(lock, method, args);
+                    lockMetrics.recordForceReleased(name, type);
+                    return result;
+                }
+                // lockAsync()、lockAsync(threadId)、lockAsync(leaseTime, unit)、lockAsync(leaseTime, unit, threadId)
+                case "lockAsync": {
+                    long threadId = length == 1 ? (Long) args[0] : length == 3 ? (Long) args[2] : current.getId();
+                    long leaseTime = length >= 2 ? leaseTime(args[0], args[1]) : -1;
+                    Thread owner = threadId == current.getId() ? current : null;
+                    long start = System.nanoTime();
+                    RFuture<?> future = (RFuture<?>) invoke(lock, method, args);
+                    future.whenComplete((result, e) -> {
+                        if (e == null) {
+                            lockMetrics.recordAcquired(name, type, threadId, owner, System.nanoTime() - start,
+                                    leaseTime, watchdogTimeout);
+                        }
+                    });
+                    return future;
+                }
+                // tryLockAsync()、tryLockAsync(threadId)、tryLockAsync(waitTime, unit)、
+                // tryLockAsync(waitTime, leaseTime, unit)、tryLockAsync(waitTime, leaseTime, unit, threadId)
+                case "tryLockAsync": {
+                    long threadId = length == 1 ? (Long) args[0] : length == 4 ? (Long) args[3] : current.getId();
+                    long leaseTime = length >= 3 ? leaseTime(args[1], args[2]) : -1;
+                    Thread owner = threadId == current.getId() ? current : null;
+                    long start = System.nanoTime();
+                    RFuture<?> future = (RFuture<?>) invoke(lock, method, args);
+                    future.whenComplete((acquired, e) -> {
+                        if (e != null) {
+                            return;
+                        }
+                        long waitNanos = System.nanoTime() - start;
+                        if (Boolean.TRUE.equals(acquired)) {
+                            lockMetrics.recordAcquired(name, type, threadId, owner, waitNanos, leaseTime,
+                                    watchdogTimeout);
+                        } else {
+                            lockMetrics.recordFailed(name, waitNanos);
+                        }
+                    });
+                    return future;
+                }
+                // unlockAsync()、unlockAsync(threadId)
+                case "unlockAsync": {
+                    long threadId = length == 1 ? (Long) args[0] : current.getId();
+                    RFuture<?> future = (RFuture<?>) invoke(lock, method, args);
+                    future.whenComplete((result, e) -> {
+                        if (e == null) {
+                            lockMetrics.recordReleased(name, type, threadId);
+                        } else if (e instanceof IllegalMonitorStateException) {
+                            lockMetrics.recordLost(name, type, threadId);
+                        }
+                    });
+                    return future;
+                }
+                case "forceUnlockAsync": {
+                    RFuture<?> future = (RFuture<?>) invoke(lock, method, args);
+                    future.whenComplete((result, e) -> {
+                        if (e == null) {
+                            lockMetrics.recordForceReleased(name, type);
+                        }
+                    });
+                    return future;
+                }
+                default:
+                    return invoke(lock, method, args);
+            }
+        });
+    }
+
+    /**
+     * @return 租约时间，单位：ms，-1 表示由看门狗续期
+     */
+    private static long leaseTime(Object leaseTime, Object unit) {
+        long value = (Long) leaseTime;
+        return value == -1 ? -1 : ((TimeUnit) unit).toMillis(value);
+    }
+
+}
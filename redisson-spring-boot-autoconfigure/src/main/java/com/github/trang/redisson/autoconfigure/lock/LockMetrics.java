@@ -0,0 +1,250 @@
+package com.github.trang.redisson.autoconfigure.lock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * 锁监控数据
+ *
+ * 按锁名称的分组规则统计获取锁的等待时间、持有时间、tryLock 失败次数以及看门狗续期次数，
+ * 未匹配分组规则的锁按名称单独统计，数量超出上限后合并到 '*' 分组，避免锁名称过多导致内存膨胀；
+ * 持有记录在租约到期或持有线程结束后清理，避免锁过期后释放失败、线程未释放锁就退出时记录一直残留
+ *
+ * @author trang
+ */
+public class LockMetrics {
+
+    /** 超出单独统计上限后的合并分组 */
+    static final String OTHERS = "*";
+    /** 每获取多少次锁清理一次过期的持有记录 */
+    private static final int PRUNE_INTERVAL = 1024;
+
+    private final List<String> patterns;
+    private final int maxTrackedNames;
+    private final ConcurrentMap<String, LockStats> stats = new ConcurrentHashMap<>();
+    /** 当前持有的锁，key 为 锁类型:锁名称:线程 ID，用于计算持有时间和处理重入 */
+    private final ConcurrentMap<String, Holding> holdings = new ConcurrentHashMap<>();
+    private final AtomicInteger acquisitions = new AtomicInteger();
+
+    public LockMetrics(List<String> patterns, int maxTrackedNames) {
+        this.patterns = patterns != null ? new ArrayList<>(patterns) : new ArrayList<>();
+        this.maxTrackedNames = maxTrackedNames;
+    }
+
+    /**
+     * 记录获取锁成功
+     *
+     * @param name            锁名称
+     * @param type            锁类型
+     * @param threadId        持有锁的线程 ID，异步方法可以指定任意值
+     * @param owner           持有锁的线程，线程 ID 不对应当前线程时为 null
+     * @param waitNanos       等待时间
+     * @param leaseTime       租约时间，单位：ms，小于等于 0 时由看门狗续期
+     * @param watchdogTimeout 所属 RedissonClient 的 lockWatchdogTimeout，单位：ms，用于估算续期次数
+     */
+    public void recordAcquired(String name, LockType type, long threadId, Thread owner, long waitNanos,
+                               long leaseTime, long watchdogTimeout) {
+        statsOf(name).recordAcquired(waitNanos);
+        holdings.compute(holdingKey(name, type, threadId), (key, holding) -> {
+            if (holding == null) {
+                return new Holding(name, System.nanoTime(), owner, leaseTime, watchdogTimeout);
+            }
+            // 重入时租约从本次获取开始重新计算
+            holding.count++;
+            holding.leaseStart = System.nanoTime();
+            return holding;
+        });
+        if (acquisitions.incrementAndGet() % PRUNE_INTERVAL == 0) {
+            prune();
+        }
+    }
+
+    /**
+     * 记录 tryLock 获取锁失败
+     *
+     * @param name      锁名称
+     * @param waitNanos 等待时间
+     */
+    public void recordFailed(String name, long waitNanos) {
+        statsOf(name).recordFailed(waitNanos);
+    }
+
+    /**
+     * 记录释放锁，重入的锁在最后一次释放时才计算持有时间
+     *
+     * @param name     锁名称
+     * @param type     锁类型
+     * @param threadId 持有锁的线程 ID
+     */
+    public void recordReleased(String name, LockType type, long threadId) {
+        holdings.computeIfPresent(holdingKey(name, type, threadId), (key, holding) -> {
+            if (--holding.count > 0) {
+                return holding;
+            }
+            release(holding, System.nanoTime());
+            return null;
+        });
+    }
+
+    /**
+     * 记录锁已不再被该线程持有，不考虑重入次数，用于租约到期后释放失败的情况
+     *
+     * @param name     锁名称
+     * @param type     锁类型
+     * @param threadId 持有锁的线程 ID
+     */
+    public void recordLost(String name, LockType type, long threadId) {
+        Holding holding = holdings.remove(holdingKey(name, type, threadId));
+        if (holding != null) {
+            release(holding, System.nanoTime());
+        }
+    }
+
+    /**
+     * 记录强制释放锁，不考虑持有线程及重入次数
+     *
+     * @param name 锁名称
+     * @param type 锁类型
+     */
+    public void recordForceReleased(String name, LockType type) {
+        String prefix = type + ":" + name + ":";
+        long now = System.nanoTime();
+        holdings.forEach((key, holding) -> {
+            if (key.startsWith(prefix) && holdings.remove(key, holding)) {
+                release(holding, now);
+            }
+        });
+    }
+
+    /**
+     * 获取全部统计数据
+     *
+     * @return 锁统计数据
+     */
+    public List<LockStats> getStats() {
+        prune();
+        return new ArrayList<>(stats.values());
+    }
+
+    /**
+     * 获取竞争最激烈的锁，按累计等待时间和失败次数倒序
+     *
+     * @param top 数量
+     * @return 锁统计数据
+     */
+    public List<LockStats> getTopContended(int top) {
+        prune();
+        return stats.values().stream()
+                .sorted(Comparator.comparingDouble(LockStats::getTotalWaitTime)
+                        .thenComparingLong(LockStats::getFailedCount)
+                        .reversed())
+                .limit(top)
+                .collect(toList());
+    }
+
+    /**
+     * 清理租约已到期或持有线程已结束的持有记录，租约到期的按租约时间计算持有时间，线程结束的不再计算持有时间
+     */
+    void prune() {
+        long now = System.nanoTime();
+        holdings.forEach((key, holding) -> {
+            if (holding.leaseNanos > 0 && now - holding.leaseStart >= holding.leaseNanos) {
+                if (holdings.remove(key, holding)) {
+                    release(holding, now);
+                }
+            } else if (holding.owner != null) {
+                Thread owner = holding.owner.get();
+                if (owner == null || !owner.isAlive()) {
+                    holdings.remove(key, holding);
+                }
+            }
+        });
+    }
+
+    /**
+     * 持有时间不超过租约时间；续期次数为估算值：看门狗每隔 lockWatchdogTimeout / 3 续期一次，按持有时间计算
+     */
+    private void release(Holding holding, long releasedAt) {
+        if (holding.leaseNanos > 0 && releasedAt - holding.leaseStart > holding.leaseNanos) {
+            releasedAt = holding.leaseStart + holding.leaseNanos;
+        }
+        long holdNanos = Math.max(releasedAt - holding.acquiredAt, 0);
+        long renewals = holding.renewalInterval > 0 ? NANOSECONDS.toMillis(holdNanos) / holding.renewalInterval : 0;
+        statsOf(holding.name).recordReleased(holdNanos, renewals);
+    }
+
+    private LockStats statsOf(String name) {
+        String group = groupOf(name);
+        LockStats lockStats = stats.get(group);
+        if (lockStats != null) {
+            return lockStats;
+        }
+        if (group.equals(name) && stats.size() >= maxTrackedNames) {
+            group = OTHERS;
+        }
+        return stats.computeIfAbsent(group, LockStats::new);
+    }
+
+    private String groupOf(String name) {
+        for (String pattern : patterns) {
+            if (PatternMatchUtils.simpleMatch(pattern, name)) {
+                return pattern;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * 读写锁的读锁与写锁名称相同，同一线程可以同时持有，所以 key 中需要包含锁类型
+     */
+    private static String holdingKey(String name, LockType type, long threadId) {
+        return type + ":" + name + ":" + threadId;
+    }
+
+    /**
+     * 锁类型
+     */
+    public enum LockType {
+        /** getLock */
+        LOCK,
+        /** getFairLock */
+        FAIR,
+        /** getReadWriteLock 的读锁 */
+        READ,
+        /** getReadWriteLock 的写锁 */
+        WRITE
+    }
+
+    private static class Holding {
+        private final String name;
+        private final long acquiredAt;
+        /** 租约时间，单位：ns，由看门狗续期时为 0 */
+        private final long leaseNanos;
+        /** 看门狗续期间隔，单位：ms，指定了租约时间时为 0 */
+        private final long renewalInterval;
+        private final WeakReference<Thread> owner;
+        private int count = 1;
+        private volatile long leaseStart;
+
+        private Holding(String name, long acquiredAt, Thread owner, long leaseTime, long watchdogTimeout) {
+            this.name = name;
+            this.acquiredAt = acquiredAt;
+            this.leaseStart = acquiredAt;
+            this.owner = owner != null ? new WeakReference<>(owner) : null;
+            this.leaseNanos = leaseTime > 0 ? MILLISECONDS.toNanos(leaseTime) : 0;
+            this.renewalInterval = leaseTime > 0 ? 0 : Math.max(watchdogTimeout / 3, 1);
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.github.trang.redisson.autoconfigure.lock;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 展示竞争最激烈的锁
+ *
+ * @author trang
+ */
+@ConfigurationProperties(prefix = "endpoints.redisson-locks")
+public class LockMetricsEndpoint extends AbstractEndpoint<List<LockStats>> {
+
+    private final LockMetrics lockMetrics;
+    private final int top;
+
+    public LockMetricsEndpoint(LockMetrics lockMetrics, int top) {
+        super("redissonLocks");
+        this.lockMetrics = lockMetrics;
+        this.top = top;
+    }
+
+    @Override
+    public List<LockStats> invoke() {
+        return lockMetrics.getTopContended(top);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.github.trang.redisson.autoconfigure.lock;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个锁分组的统计数据
+ *
+ * @author trang
+ */
+public class LockStats {
+
+    private final String name;
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder releasedCount = new LongAdder();
+    private final LongAdder renewalCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalHoldNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong maxHoldNanos = new AtomicLong();
+
+    LockStats(String name) {
+        this.name = name;
+    }
+
+    void recordAcquired(long waitNanos) {
+        acquiredCount.increment();
+        recordWait(waitNanos);
+    }
+
+    void recordFailed(long waitNanos) {
+        failedCount.increment();
+        recordWait(waitNanos);
+    }
+
+    void recordReleased(long holdNanos, long renewals) {
+        releasedCount.increment();
+        renewalCount.add(renewals);
+        totalHoldNanos.add(holdNanos);
+        maxHoldNanos.accumulateAndGet(holdNanos, Math::max);
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    /** 锁名称或分组规则 */
+    public String getName() {
+        return name;
+    }
+
+    /** 获取锁成功次数 */
+    public long getAcquiredCount() {
+        return acquiredCount.sum();
+    }
+
+    /** tryLock 获取锁失败次数 */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /** 释放锁次数 */
+    public long getReleasedCount() {
+        return releasedCount.sum();
+    }
+
+    /** 看门狗续期次数，估算值：根据持有时间与所属 RedissonClient 的续期间隔（lockWatchdogTimeout / 3）计算，不是实际续期的次数 */
+    public long getRenewalCount() {
+        return renewalCount.sum();
+    }
+
+    /** 累计等待时间，单位：ms */
+    public double getTotalWaitTime() {
+        return toMillis(totalWaitNanos.sum());
+    }
+
+    /** 最大等待时间，单位：ms */
+    public double getMaxWaitTime() {
+        return toMillis(maxWaitNanos.get());
+    }
+
+    /** 平均等待时间，单位：ms */
+    public double getAverageWaitTime() {
+        long count = getAcquiredCount() + getFailedCount();
+        return count == 0 ? 0 : getTotalWaitTime() / count;
+    }
+
+    /** 累计持有时间，单位：ms */
+    public double getTotalHoldTime() {
+        return toMillis(totalHoldNanos.sum());
+    }
+
+    /** 最大持有时间，单位：ms */
+    public double getMaxHoldTime() {
+        return toMillis(maxHoldNanos.get());
+    }
+
+    /** 平均持有时间，单位：ms */
+    public double getAverageHoldTime() {
+        long count = getReleasedCount();
+        return count == 0 ? 0 : getTotalHoldTime() / count;
+    }
+
+    private static double toMillis(long nanos) {
+        return NANOSECONDS.toMicros(nanos) / 1000.0;
+    }
+
+}
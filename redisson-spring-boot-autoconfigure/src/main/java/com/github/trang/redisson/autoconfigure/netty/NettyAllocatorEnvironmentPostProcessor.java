@@ -0,0 +1,44 @@
+package com.github.trang.redisson.autoconfigure.netty;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.bind.PropertySourcesPropertyValues;
+import org.springframework.boot.bind.RelaxedDataBinder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import com.github.trang.redisson.autoconfigure.RedissonProperties.NettyAllocatorConfig;
+
+/**
+ * 将 redisson.netty-allocator.* 转换为 Netty 的系统属性
+ *
+ * Netty 在 ByteBufAllocator 初始化时读取这些系统属性，之后不再生效，所以需要在 Environment 准备好之后、
+ * 创建任何 Bean 之前设置；已通过 -D 指定的系统属性不会被覆盖
+ *
+ * @author trang
+ */
+public class NettyAllocatorEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        NettyAllocatorConfig config = new NettyAllocatorConfig();
+        new RelaxedDataBinder(config, "redisson.netty-allocator")
+                .bind(new PropertySourcesPropertyValues(environment.getPropertySources()));
+        setIfAbsent("io.netty.allocator.type", config.getType() != null ? config.getType().getValue() : null);
+        setIfAbsent("io.netty.allocator.numDirectArenas", config.getNumDirectArenas());
+        setIfAbsent("io.netty.allocator.numHeapArenas", config.getNumHeapArenas());
+        setIfAbsent("io.netty.allocator.pageSize", config.getPageSize());
+        setIfAbsent("io.netty.allocator.maxOrder", config.getMaxOrder());
+        setIfAbsent("io.netty.allocator.tinyCacheSize", config.getTinyCacheSize());
+        setIfAbsent("io.netty.allocator.smallCacheSize", config.getSmallCacheSize());
+        setIfAbsent("io.netty.allocator.normalCacheSize", config.getNormalCacheSize());
+        setIfAbsent("io.netty.allocator.useCacheForAllThreads", config.getUseCacheForAllThreads());
+        setIfAbsent("io.netty.maxDirectMemory", config.getMaxDirectMemory());
+    }
+
+    private static void setIfAbsent(String key, Object value) {
+        if (value != null && System.getProperty(key) == null) {
+            System.setProperty(key, String.valueOf(value));
+        }
+    }
+
+}
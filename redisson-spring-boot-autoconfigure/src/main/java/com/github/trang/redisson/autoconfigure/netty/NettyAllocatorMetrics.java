@@ -0,0 +1,65 @@
+package com.github.trang.redisson.autoconfigure.netty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Netty ByteBuf 分配器的内存使用情况，通过 actuator 的 metrics 端点展示
+ *
+ * Redisson 使用 #{@link ByteBufAllocator#DEFAULT}，这里统计的是整个 JVM 中使用默认分配器的内存：
+ * 1. redisson.netty.allocator.[direct|heap].used：分配器已申请的内存
+ * 2. redisson.netty.allocator.[direct|heap].arena.[index].*：池化分配器每个 arena 中正在使用的内存及分配次数
+ * 3. redisson.netty.direct-memory.[used|max]：Netty 统计的 direct 内存，未开启统计时没有该项
+ *
+ * @author trang
+ */
+public class NettyAllocatorMetrics implements PublicMetrics {
+
+    private static final String PREFIX = "redisson.netty.";
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+        if (allocator instanceof ByteBufAllocatorMetricProvider) {
+            ByteBufAllocatorMetric metric = ((ByteBufAllocatorMetricProvider) allocator).metric();
+            metrics.add(new Metric<>(PREFIX + "allocator.direct.used", metric.usedDirectMemory()));
+            metrics.add(new Metric<>(PREFIX + "allocator.heap.used", metric.usedHeapMemory()));
+        }
+        if (allocator instanceof PooledByteBufAllocator) {
+            PooledByteBufAllocatorMetric metric = ((PooledByteBufAllocator) allocator).metric();
+            addArenas(metrics, "direct", metric.directArenas());
+            addArenas(metrics, "heap", metric.heapArenas());
+        }
+        // 未开启 Netty 自身的 direct 内存统计时返回 -1
+        long usedDirectMemory = PlatformDependent.usedDirectMemory();
+        if (usedDirectMemory >= 0) {
+            metrics.add(new Metric<>(PREFIX + "direct-memory.used", usedDirectMemory));
+            metrics.add(new Metric<>(PREFIX + "direct-memory.max", PlatformDependent.maxDirectMemory()));
+        }
+        return metrics;
+    }
+
+    private static void addArenas(List<Metric<?>> metrics, String type, List<PoolArenaMetric> arenas) {
+        for (int i = 0; i < arenas.size(); i++) {
+            PoolArenaMetric arena = arenas.get(i);
+            String prefix = PREFIX + "allocator." + type + ".arena." + i + ".";
+            metrics.add(new Metric<>(prefix + "active-bytes", arena.numActiveBytes()));
+            metrics.add(new Metric<>(prefix + "active-allocations", arena.numActiveAllocations()));
+            metrics.add(new Metric<>(prefix + "thread-caches", arena.numThreadCaches()));
+        }
+    }
+
+}
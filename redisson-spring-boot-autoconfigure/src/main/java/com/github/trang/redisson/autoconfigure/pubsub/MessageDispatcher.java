@@ -0,0 +1,153 @@
+package com.github.trang.redisson.autoconfigure.pubsub;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 消息分发器
+ *
+ * 每个线程拥有独立的队列，指定了顺序 key 时按其 hash 分配线程，保证相同 key 的消息顺序处理，否则轮流分配；
+ * 线程每次从队列中取出不超过 batchSize 条消息批量处理
+ *
+ * @author trang
+ */
+@Slf4j
+class MessageDispatcher {
+
+    /** 停止时检查队列的间隔，单位：ms */
+    private static final long POLL_INTERVAL = 100;
+
+    private final String name;
+    private final Function<Object, Object> orderKey;
+    private final Consumer<List<Object>> handler;
+    private final int batchSize;
+    private final long batchTimeout;
+    private final List<BlockingQueue<Object>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile boolean running;
+
+    /**
+     * @param name          名称，用于线程命名
+     * @param concurrency   线程数
+     * @param queueCapacity 每个线程的队列容量
+     * @param batchSize     每批消息的最大数量
+     * @param batchTimeout  凑批的最长等待时间，单位：ms
+     * @param orderKey      顺序 key 的提取方法，为 null 时轮流分配
+     * @param handler       消息处理方法
+     */
+    MessageDispatcher(String name, int concurrency, int queueCapacity, int batchSize, long batchTimeout,
+                      Function<Object, Object> orderKey, Consumer<List<Object>> handler) {
+        this.name = name;
+        this.orderKey = orderKey;
+        this.handler = handler;
+        this.batchSize = Math.max(batchSize, 1);
+        this.batchTimeout = batchTimeout;
+        for (int i = 0; i < Math.max(concurrency, 1); i++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+    }
+
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < queues.size(); i++) {
+            BlockingQueue<Object> queue = queues.get(i);
+            Thread worker = new Thread(() -> work(queue), name + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * 分发消息，队列满时阻塞
+     *
+     * @param message 消息
+     */
+    void dispatch(Object message) {
+        int index;
+        if (orderKey != null) {
+            Object key = orderKey.apply(message);
+            index = key == null ? 0 : Math.floorMod(key.hashCode(), queues.size());
+        } else {
+            index = Math.floorMod(next.getAndIncrement(), queues.size());
+        }
+        try {
+            queues.get(index).put(message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("{} interrupted, message dropped", name);
+        }
+    }
+
+    /**
+     * 停止分发，等待队列中已有的消息处理完成
+     *
+     * @param timeout 最长等待时间，单位：ms
+     */
+    synchronized void stop(long timeout) {
+        running = false;
+        long deadline = System.currentTimeMillis() + timeout;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(deadline - System.currentTimeMillis(), 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (worker.isAlive()) {
+                worker.interrupt();
+            }
+        }
+        workers.clear();
+    }
+
+    private void work(BlockingQueue<Object> queue) {
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(POLL_INTERVAL, MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Object> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                long deadline = System.currentTimeMillis() + batchTimeout;
+                while (batch.size() < batchSize && batchTimeout > 0) {
+                    long wait = deadline - System.currentTimeMillis();
+                    Object message = wait > 0 ? queue.poll(wait, MILLISECONDS) : null;
+                    if (message == null) {
+                        break;
+                    }
+                    batch.add(message);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                handle(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void handle(List<Object> batch) {
+        try {
+            handler.accept(batch);
+        } catch (Exception e) {
+            log.error("{} failed to handle {} message(s)", name, batch.size(), e);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.trang.redisson.autoconfigure.pubsub;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明 RTopic 或 RPatternTopic 的消息处理方法
+ *
+ * 方法只能有一个参数：batchSize 为 1 时参数为消息本身，大于 1 时参数为 List，每次传入不超过 batchSize 条消息
+ *
+ * @author trang
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RedissonListener {
+
+    /**
+     * @return 订阅的 topic
+     */
+    String[] topics() default {};
+
+    /**
+     * @return 订阅的 pattern，如 order.*
+     */
+    String[] patterns() default {};
+
+    /**
+     * @return 使用的 RedissonClient 的 beanName，默认使用 Primary 的 RedissonClient
+     */
+    String client() default "";
+
+    /**
+     * @return 并发处理的线程数
+     */
+    int concurrency() default 1;
+
+    /**
+     * 消息的顺序 key，SpEL 表达式，以消息为 root 对象，如 userId；顺序 key 相同的消息由同一个线程按顺序处理，
+     * 为空时消息轮流分配到各个线程，不保证顺序
+     *
+     * @return 顺序 key
+     */
+    String orderKey() default "";
+
+    /**
+     * @return 每批消息的最大数量
+     */
+    int batchSize() default 1;
+
+    /**
+     * @return 凑批的最长等待时间，单位：ms，为 0 时只处理已到达的消息，不等待
+     */
+    long batchTimeout() default 0;
+
+    /**
+     * @return 每个线程的消息队列容量，队列满时阻塞 Redisson 的分发线程
+     */
+    int queueCapacity() default 10000;
+
+}
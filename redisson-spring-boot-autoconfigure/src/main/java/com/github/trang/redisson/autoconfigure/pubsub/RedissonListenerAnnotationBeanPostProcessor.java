@@ -0,0 +1,48 @@
+package com.github.trang.redisson.autoconfigure.pubsub;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * 扫描 #{@link RedissonListener} 并注册到 #{@link RedissonListenerContainer}
+ *
+ * @author trang
+ */
+public class RedissonListenerAnnotationBeanPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        Map<Method, RedissonListener> methods = MethodIntrospector.selectMethods(targetClass,
+                (MethodIntrospector.MetadataLookup<RedissonListener>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, RedissonListener.class));
+        if (!methods.isEmpty()) {
+            RedissonListenerContainer container = beanFactory.getBean(RedissonListenerContainer.class);
+            // 通过代理对象调用，保证事务等切面生效
+            methods.forEach((method, listener) ->
+                    container.register(bean, AopUtils.selectInvocableMethod(method, bean.getClass()), listener));
+        }
+        return bean;
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.github.trang.redisson.autoconfigure.pubsub;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.redisson.api.RPatternTopic;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.ReflectionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * #{@link RedissonListener} 的容器，随 Spring 容器启动时订阅，关闭时取消订阅并处理完已接收的消息
+ *
+ * @author trang
+ */
+@Slf4j
+public class RedissonListenerContainer implements SmartLifecycle {
+
+    private final BeanFactory beanFactory;
+    private final long shutdownTimeout;
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final List<Runnable> unsubscribers = new ArrayList<>();
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private volatile boolean running;
+
+    /**
+     * @param beanFactory     用于获取 RedissonClient
+     * @param shutdownTimeout 关闭时等待消息处理完成的最长时间，单位：ms
+     */
+    public RedissonListenerContainer(BeanFactory beanFactory, long shutdownTimeout) {
+        this.beanFactory = beanFactory;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * 注册消息处理方法
+     *
+     * @param bean     bean
+     * @param method   方法
+     * @param listener 注解
+     */
+    public synchronized void register(Object bean, Method method, RedissonListener listener) {
+        if (method.getParameterCount() != 1) {
+            throw new IllegalStateException("@RedissonListener method must have exactly one parameter: " + method);
+        }
+        if (listener.topics().length == 0 && listener.patterns().length == 0) {
+            throw new IllegalStateException("@RedissonListener must declare topics or patterns: " + method);
+        }
+        boolean batch = listener.batchSize() > 1;
+        if (batch && !List.class.isAssignableFrom(method.getParameterTypes()[0])) {
+            throw new IllegalStateException("@RedissonListener method with batchSize > 1 must accept a List: " + method);
+        }
+        ReflectionUtils.makeAccessible(method);
+        Consumer<List<Object>> handler = messages -> {
+            if (batch) {
+                invoke(bean, method, messages);
+            } else {
+                messages.forEach(message -> invoke(bean, method, message));
+            }
+        };
+        Function<Object, Object> orderKey = null;
+        if (!listener.orderKey().isEmpty()) {
+            Expression expression = parser.parseExpression(listener.orderKey());
+            orderKey = expression::getValue;
+        }
+        String name = "redisson-listener-" + method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        MessageDispatcher dispatcher = new MessageDispatcher(name, listener.concurrency(), listener.queueCapacity(),
+                listener.batchSize(), listener.batchTimeout(), orderKey, handler);
+        endpoints.add(new Endpoint(listener, dispatcher));
+        if (running) {
+            subscribe(endpoints.get(endpoints.size() - 1));
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        endpoints.forEach(this::subscribe);
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        // 先取消订阅，再等待已接收的消息处理完成
+        unsubscribers.forEach(Runnable::run);
+        unsubscribers.clear();
+        endpoints.forEach(endpoint -> endpoint.dispatcher.stop(shutdownTimeout));
+        running = false;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    /**
+     * 最后启动，最先停止
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    private void subscribe(Endpoint endpoint) {
+        RedissonListener listener = endpoint.listener;
+        MessageDispatcher dispatcher = endpoint.dispatcher;
+        RedissonClient redisson = listener.client().isEmpty()
+                ? beanFactory.getBean(RedissonClient.class)
+                : beanFactory.getBean(listener.client(), RedissonClient.class);
+        dispatcher.start();
+        for (String name : listener.topics()) {
+            RTopic<Object> topic = redisson.getTopic(name);
+            int listenerId = topic.addListener((channel, message) -> dispatcher.dispatch(message));
+            unsubscribers.add(() -> topic.removeListener(listenerId));
+        }
+        for (String pattern : listener.patterns()) {
+            RPatternTopic<Object> topic = redisson.getPatternTopic(pattern);
+            int listenerId = topic.addListener((p, channel, message) -> dispatcher.dispatch(message));
+            unsubscribers.add(() -> topic.removeListener(listenerId));
+        }
+    }
+
+    private static void invoke(Object bean, Method method, Object argument) {
+        try {
+            method.invoke(bean, argument);
+        } catch (InvocationTargetException e) {
+            ReflectionUtils.rethrowRuntimeException(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Endpoint {
+        private final RedissonListener listener;
+        private final MessageDispatcher dispatcher;
+
+        private Endpoint(RedissonListener listener, MessageDispatcher dispatcher) {
+            this.listener = listener;
+            this.dispatcher = dispatcher;
+        }
+    }
+
+}
@@ -0,0 +1,262 @@
+package com.github.trang.redisson.autoconfigure.script;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.Codec;
+import org.redisson.connection.ConnectionListener;
+import org.redisson.misc.RedissonPromise;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ResourceLoaderAware;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lua 脚本注册表
+ *
+ * 1. 启动时读取 #{@link #setLocations(List)} 中的脚本文件，再通过 SCRIPT LOAD 将所有脚本加载到每个 master 节点，
+ * SCRIPT LOAD 会同步到从节点；
+ * 2. 节点建立连接时（包括主从切换后的新 master）重新加载所有脚本；
+ * 3. 通过 EVALSHA 调用，只发送脚本的 SHA1，仍然返回 NOSCRIPT 时重新加载并以 READ_WRITE 模式重试一次：
+ * SCRIPT LOAD 只发送到 master，READ_ONLY 的调用可能落在还没有同步到脚本的从节点上，重试时在 master 上执行
+ *
+ * @author trang
+ */
+@Slf4j
+public class RedissonScriptRegistry implements InitializingBean, DisposableBean, ResourceLoaderAware {
+
+    private final RedissonClient redisson;
+    private final RScript script;
+    /** key 为脚本名称，value 为脚本内容 */
+    private final Map<String, String> scripts = new ConcurrentHashMap<>();
+    /** key 为脚本名称，value 为 SHA1 */
+    private final Map<String, String> digests = new ConcurrentHashMap<>();
+    private List<String> locations = Collections.emptyList();
+    private ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+    private Integer connectionListenerId;
+
+    /**
+     * @param redisson redisson 客户端
+     * @param scripts  脚本，key 为脚本名称，优先于脚本文件中的同名脚本
+     */
+    public RedissonScriptRegistry(RedissonClient redisson, Map<String, String> scripts) {
+        this.redisson = redisson;
+        this.script = redisson.getScript();
+        scripts.forEach(this::put);
+    }
+
+    /**
+     * 设置脚本文件路径，支持通配符，文件名（不含扩展名）为脚本名称，在 #{@link #afterPropertiesSet()} 中读取
+     *
+     * @param locations 脚本文件路径
+     */
+    public void setLocations(List<String> locations) {
+        this.locations = locations;
+    }
+
+    @Override
+    public void setResourceLoader(ResourceLoader resourceLoader) {
+        this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        loadLocations();
+        scripts.forEach((name, lua) -> script.scriptLoad(lua));
+        log.info("redisson scripts loaded: {}", scripts.keySet());
+        connectionListenerId = redisson.getNodesGroup().addConnectionListener(new ConnectionListener() {
+            @Override
+            public void onConnect(InetSocketAddress address) {
+                // 在 Netty 线程中回调，不能同步等待
+                scripts.forEach((name, lua) -> script.scriptLoadAsync(lua).whenComplete((sha, e) -> {
+                    if (e != null) {
+                        log.warn("redisson script [{}] reload failed after connecting to {}", name, address, e);
+                    }
+                }));
+            }
+
+            @Override
+            public void onDisconnect(InetSocketAddress address) {
+            }
+        });
+    }
+
+    /**
+     * 读取脚本文件，构造时传入的同名脚本优先
+     */
+    private void loadLocations() throws IOException {
+        for (String location : locations) {
+            for (Resource resource : resourcePatternResolver.getResources(location)) {
+                String name = StringUtils.stripFilenameExtension(resource.getFilename());
+                if (scripts.containsKey(name)) {
+                    continue;
+                }
+                try (InputStream in = resource.getInputStream()) {
+                    put(name, StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionListenerId != null) {
+            redisson.getNodesGroup().removeConnectionListener(connectionListenerId);
+        }
+    }
+
+    /**
+     * 注册脚本，已启动时需要自行调用 #{@link RScript#scriptLoad(String)}，否则在首次调用时加载
+     *
+     * @param name 脚本名称
+     * @param lua  脚本内容
+     */
+    public void put(String name, String lua) {
+        scripts.put(name, lua);
+        digests.put(name, sha1(lua));
+    }
+
+    /**
+     * @return 所有脚本名称
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(scripts.keySet());
+    }
+
+    /**
+     * 获取脚本的 SHA1
+     *
+     * @param name 脚本名称
+     * @return SHA1
+     */
+    public String getSha(String name) {
+        String sha = digests.get(name);
+        if (sha == null) {
+            throw new IllegalArgumentException("redisson script not found: " + name);
+        }
+        return sha;
+    }
+
+    public <R> R eval(String name, RScript.Mode mode, RScript.ReturnType returnType, List<Object> keys,
+                      Object... values) {
+        return eval(name, mode, null, returnType, keys, values);
+    }
+
+    /**
+     * 通过 EVALSHA 调用脚本，返回 NOSCRIPT 时重新加载并以 READ_WRITE 模式重试一次
+     *
+     * @param name       脚本名称
+     * @param mode       读写模式
+     * @param codec      编码，为 null 时使用 RedissonClient 的编码
+     * @param returnType 返回值类型
+     * @param keys       KEYS
+     * @param values     ARGV
+     * @param <R>        返回值类型
+     * @return 脚本返回值
+     */
+    public <R> R eval(String name, RScript.Mode mode, Codec codec, RScript.ReturnType returnType, List<Object> keys,
+                      Object... values) {
+        String sha = getSha(name);
+        try {
+            return evalSha(mode, codec, sha, returnType, keys, values);
+        } catch (RedisException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            log.info("redisson script [{}] not found on server, reloading", name);
+            script.scriptLoad(scripts.get(name));
+            return evalSha(RScript.Mode.READ_WRITE, codec, sha, returnType, keys, values);
+        }
+    }
+
+    public <R> RFuture<R> evalAsync(String name, RScript.Mode mode, RScript.ReturnType returnType, List<Object> keys,
+                                    Object... values) {
+        return evalAsync(name, mode, null, returnType, keys, values);
+    }
+
+    /**
+     * #{@link #eval(String, RScript.Mode, Codec, RScript.ReturnType, List, Object...)} 的异步版本
+     */
+    public <R> RFuture<R> evalAsync(String name, RScript.Mode mode, Codec codec, RScript.ReturnType returnType,
+                                    List<Object> keys, Object... values) {
+        String sha = getSha(name);
+        RedissonPromise<R> promise = new RedissonPromise<>();
+        this.<R>evalShaAsync(mode, codec, sha, returnType, keys, values).whenComplete((result, e) -> {
+            if (e == null) {
+                promise.trySuccess(result);
+            } else if (!isNoScript(e)) {
+                promise.tryFailure(e);
+            } else {
+                log.info("redisson script [{}] not found on server, reloading", name);
+                script.scriptLoadAsync(scripts.get(name)).whenComplete((loaded, loadError) -> {
+                    if (loadError != null) {
+                        promise.tryFailure(loadError);
+                        return;
+                    }
+                    this.<R>evalShaAsync(RScript.Mode.READ_WRITE, codec, sha, returnType, keys, values)
+                            .whenComplete((retried, retryError) -> {
+                                if (retryError != null) {
+                                    promise.tryFailure(retryError);
+                                } else {
+                                    promise.trySuccess(retried);
+                                }
+                            });
+                });
+            }
+        });
+        return promise;
+    }
+
+    private <R> R evalSha(RScript.Mode mode, Codec codec, String sha, RScript.ReturnType returnType,
+                          List<Object> keys, Object... values) {
+        return codec != null
+                ? script.evalSha(mode, codec, sha, returnType, keys, values)
+                : script.evalSha(mode, sha, returnType, keys, values);
+    }
+
+    private <R> RFuture<R> evalShaAsync(RScript.Mode mode, Codec codec, String sha, RScript.ReturnType returnType,
+                                        List<Object> keys, Object... values) {
+        return codec != null
+                ? script.evalShaAsync(mode, codec, sha, returnType, keys, values)
+                : script.evalShaAsync(mode, sha, returnType, keys, values);
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        return e instanceof RedisException && e.getMessage() != null && e.getMessage().contains("NOSCRIPT");
+    }
+
+    private static String sha1(String lua) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(lua.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(String.format("%02x", b));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,242 @@
+package com.github.trang.redisson.autoconfigure.stream;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisStrictCommand;
+import org.redisson.client.protocol.decoder.ObjectListReplayDecoder;
+import org.redisson.command.CommandAsyncExecutor;
+
+import com.github.trang.redisson.autoconfigure.support.Proxies;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Redis Stream 消费组命令
+ *
+ * 当前版本的 Redisson 没有提供 RStream，这里通过 Redisson 的 CommandAsyncExecutor 直接发送 XGROUP/XREADGROUP/XACK/
+ * XPENDING/XCLAIM/XADD，需要 Redis 5.0 及以上版本。XREADGROUP 被标记为 noscript，不能放在 Lua 脚本中执行；
+ * 带 BLOCK 的读取会占用连接且受 Redisson 的响应超时限制，所以读取使用非阻塞的 XREADGROUP，没有消息时由调用方退避轮询
+ *
+ * @author trang
+ */
+class StreamCommands {
+
+    private static final RedisStrictCommand<Object> XGROUP = new RedisStrictCommand<>("XGROUP");
+    private static final RedisCommand<List<Object>> XREADGROUP =
+            new RedisCommand<>("XREADGROUP", new ObjectListReplayDecoder<>());
+    private static final RedisStrictCommand<Long> XACK = new RedisStrictCommand<>("XACK");
+    private static final RedisCommand<List<Object>> XPENDING =
+            new RedisCommand<>("XPENDING", new ObjectListReplayDecoder<>());
+    private static final RedisCommand<List<Object>> XCLAIM =
+            new RedisCommand<>("XCLAIM", new ObjectListReplayDecoder<>());
+    private static final RedisStrictCommand<Object> XADD = new RedisStrictCommand<>("XADD");
+
+    private final CommandAsyncExecutor commandExecutor;
+    private final String stream;
+    private final String group;
+
+    /**
+     * @param redisson RedissonClient，开启锁监控、熔断降级或对冲读时为代理对象，这里还原后直接发送命令，不经过这些包装
+     * @param stream   stream 名称
+     * @param group    消费组名称
+     */
+    StreamCommands(RedissonClient redisson, String stream, String group) {
+        RedissonClient target = Proxies.unwrap(redisson);
+        if (!(target instanceof Redisson)) {
+            throw new IllegalStateException("redisson stream consumer requires org.redisson.Redisson, but was "
+                    + target.getClass().getName());
+        }
+        this.commandExecutor = ((Redisson) target).getCommandExecutor();
+        this.stream = stream;
+        this.group = group;
+    }
+
+    /**
+     * 创建消费组，stream 不存在时一并创建，消费组已存在时忽略
+     *
+     * @param startId 消费组的起始消息 ID，'$' 表示只消费创建之后的消息，'0' 表示从头消费
+     */
+    void createGroup(String startId) {
+        try {
+            write(XGROUP, "CREATE", stream, group, startId, "MKSTREAM");
+        } catch (RedisException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 读取未投递过的消息
+     *
+     * @param consumer 消费者名称
+     * @param count    最大数量
+     * @return 消息，没有时返回空列表
+     */
+    @SuppressWarnings("unchecked")
+    List<StreamMessage> read(String consumer, int count) {
+        // 回复格式：[[stream, [entry1, entry2, ...]]]，没有消息时为 null
+        List<Object> streams = write(XREADGROUP, "GROUP", group, consumer, "COUNT", String.valueOf(count),
+                "STREAMS", stream, ">");
+        if (streams == null || streams.isEmpty() || !(streams.get(0) instanceof List)) {
+            return emptyList();
+        }
+        List<Object> first = (List<Object>) streams.get(0);
+        return first.size() > 1 && first.get(1) instanceof List ? toMessages((List<Object>) first.get(1)) : emptyList();
+    }
+
+    /**
+     * 批量确认
+     *
+     * @param ids 消息 ID
+     */
+    void ack(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Object> params = new ArrayList<>(ids.size() + 2);
+        params.add(stream);
+        params.add(group);
+        params.addAll(ids);
+        write(XACK, params.toArray());
+    }
+
+    /**
+     * 查询 pending 消息
+     *
+     * @param start 起始消息 ID（包含），'-' 表示从头查询，翻页时传入 {@link #nextId} 的结果
+     * @param count 最大数量
+     * @return pending 消息，按 ID 升序
+     */
+    @SuppressWarnings("unchecked")
+    List<PendingMessage> pending(String start, int count) {
+        // 回复格式：[[id, consumer, idle, deliveryCount], ...]
+        List<Object> entries = write(XPENDING, stream, group, start, "+", String.valueOf(count));
+        if (entries == null || entries.isEmpty()) {
+            return emptyList();
+        }
+        List<PendingMessage> pending = new ArrayList<>(entries.size());
+        for (Object entry : entries) {
+            List<Object> values = (List<Object>) entry;
+            pending.add(new PendingMessage(String.valueOf(values.get(0)), String.valueOf(values.get(1)),
+                    toLong(values.get(2)), toLong(values.get(3))));
+        }
+        return pending;
+    }
+
+    /**
+     * 认领其它消费者（包括已下线的消费者）长时间未确认的消息
+     *
+     * @param consumer    认领到的消费者名称
+     * @param minIdleTime 最小空闲时间，单位：ms
+     * @param ids         消息 ID
+     * @return 认领到的消息，已被删除或已被其它消费者认领的消息不会返回
+     */
+    List<StreamMessage> claim(String consumer, long minIdleTime, List<String> ids) {
+        if (ids.isEmpty()) {
+            return emptyList();
+        }
+        List<Object> params = new ArrayList<>(ids.size() + 4);
+        params.add(stream);
+        params.add(group);
+        params.add(consumer);
+        params.add(String.valueOf(minIdleTime));
+        params.addAll(ids);
+        return toMessages(write(XCLAIM, params.toArray()));
+    }
+
+    /**
+     * 写入另一个 stream，用于死信
+     *
+     * @param target 目标 stream
+     * @param fields 消息内容
+     */
+    void add(String target, Map<String, String> fields) {
+        List<Object> params = new ArrayList<>(fields.size() * 2 + 2);
+        params.add(target);
+        params.add("*");
+        fields.forEach((field, value) -> {
+            params.add(field);
+            params.add(value);
+        });
+        commandExecutor.get(commandExecutor.writeAsync(target, StringCodec.INSTANCE, XADD, params.toArray()));
+    }
+
+    private <R> R write(RedisCommand<R> command, Object... params) {
+        return commandExecutor.get(commandExecutor.writeAsync(stream, StringCodec.INSTANCE, command, params));
+    }
+
+    /**
+     * 解析消息列表，每条消息的格式为 [id, [field1, value1, field2, value2, ...]]，已被删除的消息为 null
+     */
+    @SuppressWarnings("unchecked")
+    private List<StreamMessage> toMessages(List<Object> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return emptyList();
+        }
+        List<StreamMessage> messages = new ArrayList<>(entries.size());
+        for (Object entry : entries) {
+            if (!(entry instanceof List)) {
+                continue;
+            }
+            List<Object> pair = (List<Object>) entry;
+            Map<String, String> fields = new LinkedHashMap<>();
+            if (pair.size() > 1 && pair.get(1) instanceof List) {
+                List<Object> values = (List<Object>) pair.get(1);
+                for (int i = 0; i + 1 < values.size(); i += 2) {
+                    fields.put(String.valueOf(values.get(i)), String.valueOf(values.get(i + 1)));
+                }
+            }
+            messages.add(new StreamMessage(stream, String.valueOf(pair.get(0)), fields));
+        }
+        return messages;
+    }
+
+    /**
+     * 紧随其后的消息 ID，用于 XPENDING 翻页；Redis 6.2 之前的 XPENDING 不支持 '(' 开头的排他区间
+     *
+     * @param id 消息 ID，格式为 ms-seq
+     * @return 序号加 1 后的消息 ID
+     */
+    static String nextId(String id) {
+        int separator = id.indexOf('-');
+        if (separator < 0) {
+            return id + "-1";
+        }
+        long ms = Long.parseLong(id.substring(0, separator));
+        long seq = Long.parseLong(id.substring(separator + 1));
+        return seq == Long.MAX_VALUE ? (ms + 1) + "-0" : ms + "-" + (seq + 1);
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(String.valueOf(value));
+    }
+
+    /**
+     * XPENDING 返回的一条 pending 消息
+     */
+    @AllArgsConstructor
+    @Getter
+    static class PendingMessage {
+
+        private final String id;
+        private final String consumer;
+        /** 距上次投递的时间，单位：ms */
+        private final long idleTime;
+        /** 投递次数 */
+        private final long deliveryCount;
+
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.github.trang.redisson.autoconfigure.stream;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.github.trang.redisson.autoconfigure.RedissonSpringProperties.StreamConsumerProperties;
+import com.github.trang.redisson.autoconfigure.stream.StreamCommands.PendingMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 一个消费组内的消费者
+ *
+ * 每个消费者对应一个读取线程，读取到的消息整批提交到处理线程池，处理成功后整批确认；
+ * 已读取但未处理完的批次数达到 threads + queueCapacity 时读取线程阻塞，不再从 Redis 读取，以此实现背压；
+ * 没有消息时轮询间隔从 pollInterval 开始翻倍退避，最大为 maxPollInterval；
+ * 另有一个线程定期认领空闲超过 minIdleTime 的 pending 消息，包括处理失败的消息和已下线消费者未确认的消息，
+ * 投递次数达到 maxDeliveries 的消息不再认领，转入死信 stream 后确认
+ *
+ * @author trang
+ */
+@Slf4j
+class StreamConsumer {
+
+    private final String name;
+    private final StreamCommands commands;
+    private final StreamMessageHandler handler;
+    private final StreamConsumerProperties properties;
+    private final String consumerName;
+    private final String deadLetterStream;
+    private final Semaphore permits;
+    private final List<Thread> readers = new ArrayList<>();
+    private Thread claimer;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    /**
+     * @param name             名称，用于线程命名
+     * @param commands         stream 命令
+     * @param handler          消息处理器
+     * @param properties       配置
+     * @param consumerName     消费者名称前缀，需要在消费组内唯一
+     * @param deadLetterStream 死信 stream 名称
+     */
+    StreamConsumer(String name, StreamCommands commands, StreamMessageHandler handler,
+                   StreamConsumerProperties properties, String consumerName, String deadLetterStream) {
+        this.name = name;
+        this.commands = commands;
+        this.handler = handler;
+        this.properties = properties;
+        this.consumerName = consumerName;
+        this.deadLetterStream = deadLetterStream;
+        this.permits = new Semaphore(Math.max(properties.getThreads(), 1) + Math.max(properties.getQueueCapacity(), 0));
+    }
+
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        commands.createGroup(properties.getStartId());
+        running = true;
+        int threads = Math.max(properties.getThreads(), 1);
+        // 队列长度由 permits 限制，这里不需要再设置容量
+        CustomizableThreadFactory workerFactory = new CustomizableThreadFactory("redisson-stream-" + name + "-worker-");
+        workerFactory.setDaemon(true);
+        executor = new ThreadPoolExecutor(threads, threads, 0, MILLISECONDS, new LinkedBlockingQueue<>(), workerFactory);
+        for (int i = 0; i < Math.max(properties.getConsumers(), 1); i++) {
+            String consumer = consumerName + "-" + i;
+            Thread reader = new Thread(() -> read(consumer), "redisson-stream-" + name + "-reader-" + i);
+            reader.setDaemon(true);
+            reader.start();
+            readers.add(reader);
+        }
+        if (properties.getClaimInterval() > 0) {
+            claimer = new Thread(() -> claim(consumerName + "-0"), "redisson-stream-" + name + "-claimer");
+            claimer.setDaemon(true);
+            claimer.start();
+        }
+    }
+
+    /**
+     * 停止读取，等待已读取的消息处理完成，未处理完的消息留在 pending 列表中，由其它消费者认领
+     *
+     * @param timeout 最长等待时间，单位：ms
+     */
+    synchronized void stop(long timeout) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.currentTimeMillis() + timeout;
+        if (claimer != null) {
+            claimer.interrupt();
+            claimer = null;
+        }
+        try {
+            for (Thread reader : readers) {
+                reader.join(Math.max(deadline - System.currentTimeMillis(), 1));
+                if (reader.isAlive()) {
+                    reader.interrupt();
+                }
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(Math.max(deadline - System.currentTimeMillis(), 1), MILLISECONDS)) {
+                log.warn("redisson stream consumer [{}] stopped before all messages were handled", name);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        readers.clear();
+    }
+
+    private void read(String consumer) {
+        long backoff = properties.getPollInterval();
+        while (running) {
+            try {
+                permits.acquire();
+                List<StreamMessage> messages;
+                try {
+                    messages = commands.read(consumer, properties.getBatchSize());
+                } catch (Exception e) {
+                    permits.release();
+                    log.warn("redisson stream consumer [{}] failed to read", name, e);
+                    Thread.sleep(backoff);
+                    backoff = nextBackoff(backoff);
+                    continue;
+                }
+                if (messages.isEmpty()) {
+                    permits.release();
+                    Thread.sleep(backoff);
+                    backoff = nextBackoff(backoff);
+                    continue;
+                }
+                backoff = properties.getPollInterval();
+                submit(messages);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 连续读取不到消息时轮询间隔翻倍，最大为 maxPollInterval
+     */
+    long nextBackoff(long backoff) {
+        return Math.max(Math.min(backoff * 2, properties.getMaxPollInterval()), properties.getPollInterval());
+    }
+
+    private void claim(String consumer) {
+        while (running) {
+            try {
+                Thread.sleep(properties.getClaimInterval());
+                // 按 ID 分页扫描整个 pending 列表，认领后消息的空闲时间会被重置，本轮不会再次认领
+                String start = "-";
+                while (running && start != null) {
+                    start = claimOnce(consumer, start);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 从 start 开始查询一页 pending 消息，认领其中空闲超过 minIdleTime 的消息，投递次数达到 maxDeliveries 的消息
+     * 转入死信 stream 并确认
+     *
+     * @param consumer 认领到的消费者名称
+     * @param start    起始消息 ID（包含），'-' 表示从头开始
+     * @return 下一页的起始消息 ID，已扫描到末尾或查询失败时返回 null
+     */
+    String claimOnce(String consumer, String start) throws InterruptedException {
+        List<String> retries = new ArrayList<>();
+        List<String> deadLetters = new ArrayList<>();
+        String next;
+        try {
+            List<PendingMessage> page = commands.pending(start, properties.getBatchSize());
+            if (page.isEmpty()) {
+                return null;
+            }
+            next = page.size() < properties.getBatchSize()
+                    ? null : StreamCommands.nextId(page.get(page.size() - 1).getId());
+            for (PendingMessage pending : page) {
+                if (pending.getIdleTime() < properties.getMinIdleTime()) {
+                    continue;
+                }
+                if (properties.getMaxDeliveries() > 0 && pending.getDeliveryCount() >= properties.getMaxDeliveries()) {
+                    deadLetters.add(pending.getId());
+                } else {
+                    retries.add(pending.getId());
+                }
+            }
+            if (!deadLetters.isEmpty()) {
+                deadLetter(consumer, deadLetters);
+            }
+        } catch (Exception e) {
+            log.warn("redisson stream consumer [{}] failed to claim pending messages", name, e);
+            return null;
+        }
+        if (retries.isEmpty()) {
+            return next;
+        }
+        permits.acquire();
+        List<StreamMessage> messages;
+        try {
+            messages = commands.claim(consumer, properties.getMinIdleTime(), retries);
+        } catch (Exception e) {
+            permits.release();
+            log.warn("redisson stream consumer [{}] failed to claim pending messages", name, e);
+            return null;
+        }
+        if (messages.isEmpty()) {
+            permits.release();
+            return next;
+        }
+        log.info("redisson stream consumer [{}] claimed {} pending message(s)", name, messages.size());
+        submit(messages);
+        return next;
+    }
+
+    /**
+     * 先写入死信 stream 再确认，写入失败时消息留在 pending 列表中，下次认领时重试
+     */
+    private void deadLetter(String consumer, List<String> ids) {
+        List<StreamMessage> messages = commands.claim(consumer, properties.getMinIdleTime(), ids);
+        for (StreamMessage message : messages) {
+            commands.add(deadLetterStream, message.getFields());
+        }
+        commands.ack(ids);
+        log.error("redisson stream consumer [{}] moved {} message(s) to [{}] after {} deliveries: {}",
+                name, ids.size(), deadLetterStream, properties.getMaxDeliveries(), ids);
+    }
+
+    /**
+     * 提交到处理线程池，调用前需要获取 permit
+     */
+    private void submit(List<StreamMessage> messages) {
+        try {
+            executor.execute(() -> {
+                try {
+                    handler.handle(messages);
+                    commands.ack(messages.stream().map(StreamMessage::getId).collect(toList()));
+                } catch (Exception e) {
+                    log.error("redisson stream consumer [{}] failed to handle {} message(s)", name, messages.size(), e);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+}
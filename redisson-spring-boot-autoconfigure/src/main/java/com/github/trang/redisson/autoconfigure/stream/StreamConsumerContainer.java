@@ -0,0 +1,109 @@
+package com.github.trang.redisson.autoconfigure.stream;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.SmartLifecycle;
+
+import com.github.trang.redisson.autoconfigure.RedissonSpringProperties.StreamConsumerProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis Stream 消费组容器，随 Spring 容器启动时创建消费组并开始读取，关闭时停止读取并处理完已读取的消息
+ *
+ * @author trang
+ */
+@Slf4j
+public class StreamConsumerContainer implements SmartLifecycle {
+
+    private final BeanFactory beanFactory;
+    private final Map<String, StreamConsumerProperties> consumerProperties;
+    private final long shutdownTimeout;
+    private final List<StreamConsumer> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * @param beanFactory        用于获取 RedissonClient 及 StreamMessageHandler
+     * @param consumerProperties 消费者配置，key 为名称
+     * @param shutdownTimeout    关闭时等待消息处理完成的最长时间，单位：ms
+     */
+    public StreamConsumerContainer(BeanFactory beanFactory, Map<String, StreamConsumerProperties> consumerProperties,
+                                   long shutdownTimeout) {
+        this.beanFactory = beanFactory;
+        this.consumerProperties = consumerProperties;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        consumerProperties.forEach((name, properties) -> {
+            StreamConsumer consumer = create(name, properties);
+            consumer.start();
+            consumers.add(consumer);
+            log.info("redisson stream consumer [{}] started", name);
+        });
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + shutdownTimeout;
+        consumers.forEach(consumer -> consumer.stop(Math.max(deadline - System.currentTimeMillis(), 1)));
+        consumers.clear();
+        running = false;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    /**
+     * 最后启动，最先停止
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    private StreamConsumer create(String name, StreamConsumerProperties properties) {
+        if (properties.getGroup() == null || properties.getGroup().isEmpty()) {
+            throw new IllegalStateException("redisson stream consumer [" + name + "] must declare a group");
+        }
+        RedissonClient redisson = properties.getClient() == null || properties.getClient().isEmpty()
+                ? beanFactory.getBean(RedissonClient.class)
+                : beanFactory.getBean(properties.getClient(), RedissonClient.class);
+        String stream = properties.getStream() != null ? properties.getStream() : name;
+        String handlerName = properties.getHandler() != null ? properties.getHandler() : name;
+        StreamMessageHandler handler = beanFactory.getBean(handlerName, StreamMessageHandler.class);
+        String consumerName = properties.getConsumerName() != null
+                ? properties.getConsumerName() : ManagementFactory.getRuntimeMXBean().getName();
+        String deadLetterStream = properties.getDeadLetterStream() != null
+                ? properties.getDeadLetterStream() : stream + ":dead-letter";
+        StreamCommands commands = new StreamCommands(redisson, stream, properties.getGroup());
+        return new StreamConsumer(name, commands, handler, properties, consumerName, deadLetterStream);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.github.trang.redisson.autoconfigure.stream;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Redis Stream 中的一条消息
+ *
+ * @author trang
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class StreamMessage {
+
+    /** stream 名称 */
+    private final String stream;
+    /** 消息 ID，格式：毫秒时间戳-序号 */
+    private final String id;
+    /** 消息内容 */
+    private final Map<String, String> fields;
+
+}
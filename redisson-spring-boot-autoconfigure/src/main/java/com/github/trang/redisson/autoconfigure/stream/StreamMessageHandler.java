@@ -0,0 +1,23 @@
+package com.github.trang.redisson.autoconfigure.stream;
+
+import java.util.List;
+
+/**
+ * Redis Stream 消息处理器
+ *
+ * 正常返回后整批消息会被确认（XACK），抛出异常时不确认，消息留在 pending 列表中，超过 minIdleTime 后重新投递
+ *
+ * @author trang
+ */
+@FunctionalInterface
+public interface StreamMessageHandler {
+
+    /**
+     * 处理一批消息
+     *
+     * @param messages 消息，数量不超过 batchSize
+     * @throws Exception 处理失败
+     */
+    void handle(List<StreamMessage> messages) throws Exception;
+
+}
@@ -0,0 +1,99 @@
+package com.github.trang.redisson.autoconfigure.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * JDK 动态代理工具，用于在不依赖 Redisson 具体实现类的情况下包装其接口
+ *
+ * @author trang
+ */
+public final class Proxies {
+
+    private Proxies() {
+    }
+
+    /**
+     * 创建代理，Object 的方法不会经过拦截器
+     *
+     * @param type        接口类型
+     * @param target      被代理对象
+     * @param interceptor 拦截器
+     * @param <T>         接口类型
+     * @return 代理对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T create(Class<T> type, T target, Interceptor interceptor) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new InterceptingHandler(target, interceptor));
+    }
+
+    /**
+     * 还原被代理对象，多层代理时逐层还原，不是由 {@link #create} 创建的对象原样返回
+     *
+     * @param object 代理对象
+     * @param <T>    接口类型
+     * @return 最内层的被代理对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T unwrap(T object) {
+        Object current = object;
+        while (current != null && Proxy.isProxyClass(current.getClass())
+                && Proxy.getInvocationHandler(current) instanceof InterceptingHandler) {
+            current = ((InterceptingHandler) Proxy.getInvocationHandler(current)).target;
+        }
+        return (T) current;
+    }
+
+    /**
+     * 调用被代理对象的方法，并还原其抛出的原始异常
+     *
+     * @param target 被代理对象
+     * @param method 方法
+     * @param args   参数
+     * @return 返回值
+     * @throws Throwable 原始异常
+     */
+    public static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class InterceptingHandler implements InvocationHandler {
+
+        private final Object target;
+        private final Interceptor interceptor;
+
+        private InterceptingHandler(Object target, Interceptor interceptor) {
+            this.target = target;
+            this.interceptor = interceptor;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return Proxies.invoke(target, method, args);
+                }
+            }
+            return interceptor.intercept(method, args);
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface Interceptor {
+        Object intercept(Method method, Object[] args) throws Throwable;
+    }
+
+}
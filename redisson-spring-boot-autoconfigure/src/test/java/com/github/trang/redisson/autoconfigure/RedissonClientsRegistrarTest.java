@@ -0,0 +1,75 @@
+package com.github.trang.redisson.autoconfigure;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+public class RedissonClientsRegistrarTest {
+
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private final DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
+
+    @Test
+    public void registerNamesFromDottedAndIndexedKeys() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("redisson.clients.orders.type", "cluster");
+        properties.put("redisson.clients.orders.cluster.node-addresses[0]", "redis://127.0.0.1:7000");
+        properties.put("redisson.clients[session].single.address", "redis://127.0.0.1:6380");
+        properties.put("redisson.clientsX.ignored", "true");
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+        register();
+
+        assertThat(registry.getBeanDefinitionNames()).containsExactly("orders", "session");
+    }
+
+    @Test
+    public void registerNamesFromEnvironmentVariables() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("REDISSON_CLIENTS_ORDERS_TYPE", "cluster");
+        variables.put("REDISSON_CLIENTS_ORDERS_CLUSTER_NODE_ADDRESSES", "redis://127.0.0.1:7000");
+        variables.put("REDISSON_TYPE", "single");
+        environment.getPropertySources().addFirst(new SystemEnvironmentPropertySource("env", variables));
+
+        register();
+
+        assertThat(registry.getBeanDefinitionNames()).containsExactly("orders");
+    }
+
+    @Test
+    public void skipExistingBean() {
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+                singletonMap("redisson.clients.redisson.type", (Object) "single")));
+        registry.registerBeanDefinition("redisson", new RootBeanDefinition(Object.class));
+
+        register();
+
+        assertThat(registry.getBeanDefinition("redisson").getBeanClassName()).isEqualTo(Object.class.getName());
+    }
+
+    @Test
+    public void lookupIgnoresCase() {
+        Map<String, String> clients = new HashMap<>();
+        clients.put("ORDERS", "value");
+
+        assertThat(AbstractNamedBeanRegistrar.lookup(clients, "orders")).isEqualTo("value");
+        assertThat(AbstractNamedBeanRegistrar.lookup(clients, "session")).isNull();
+    }
+
+    private void register() {
+        RedissonClientsRegistrar registrar = new RedissonClientsRegistrar();
+        registrar.setEnvironment(environment);
+        registrar.registerBeanDefinitions(null, registry);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.github.trang.redisson.autoconfigure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+public class RedissonExecutorsRegistrarTest {
+
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private final DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
+
+    @Test
+    public void registerFactoryBeanPerExecutor() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.redisson.executors.reports.workers", "2");
+        properties.put("spring.redisson.executors.mails.client", "orders");
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+        register();
+
+        assertThat(registry.getBeanDefinitionNames()).containsExactly("reports", "mails");
+        assertThat(registry.getBeanDefinition("reports").getBeanClassName())
+                .isEqualTo(RedissonExecutorServiceFactoryBean.class.getName());
+        assertThat(registry.getBeanDefinition("reports").getConstructorArgumentValues()
+                .getIndexedArgumentValue(0, String.class).getValue()).isEqualTo("reports");
+    }
+
+    @Test
+    public void registerNamesFromEnvironmentVariables() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("SPRING_REDISSON_EXECUTORS_REPORTS_WORKERS", "2");
+        environment.getPropertySources().addFirst(new SystemEnvironmentPropertySource("env", variables));
+
+        register();
+
+        assertThat(registry.getBeanDefinitionNames()).containsExactly("reports");
+    }
+
+    private void register() {
+        RedissonExecutorsRegistrar registrar = new RedissonExecutorsRegistrar();
+        registrar.setEnvironment(environment);
+        registrar.registerBeanDefinitions(null, registry);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.github.trang.redisson.autoconfigure.breaker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.github.trang.redisson.autoconfigure.breaker.CircuitBreaker.Permit;
+import com.github.trang.redisson.autoconfigure.breaker.CircuitBreaker.State;
+
+public class CircuitBreakerTest {
+
+    /** 失败率 50%，不统计慢调用，最少 2 次调用，熔断 0 ms 后立即进入 HALF_OPEN */
+    private final CircuitBreaker breaker = new CircuitBreaker("127.0.0.1:6379", 50, 0, 2, 60000, 0);
+
+    @Test
+    public void openWhenFailureRateReached() {
+        breaker.onFailure(breaker.tryAcquire());
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        breaker.onFailure(breaker.tryAcquire());
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    public void onlyOneProbeInHalfOpen() {
+        open();
+
+        Permit probe = breaker.tryAcquire();
+        assertThat(probe.isProbe()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+
+        breaker.onSuccess(probe, 1);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void callsAdmittedBeforeOpenDoNotDecideProbe() {
+        Permit early = breaker.tryAcquire();
+        open();
+        Permit probe = breaker.tryAcquire();
+
+        // 熔断前放行的调用在探测期间才失败，不会重新打开熔断器
+        breaker.onFailure(early);
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+
+        breaker.onFailure(probe);
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    private void open() {
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+    }
+
+}
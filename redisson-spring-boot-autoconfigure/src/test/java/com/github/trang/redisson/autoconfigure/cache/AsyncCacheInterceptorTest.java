@@ -0,0 +1,99 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+public class AsyncCacheInterceptorTest {
+
+    private final BeanFactory beanFactory = mock(BeanFactory.class);
+    private final DecoratingRedissonSpringCacheManager cacheManager = mock(DecoratingRedissonSpringCacheManager.class);
+    private final AsyncCache cache = mock(AsyncCache.class);
+    private final Service target = new Service();
+
+    @Before
+    public void setUp() {
+        when(beanFactory.getBean(DecoratingRedissonSpringCacheManager.class)).thenReturn(cacheManager);
+        when(cacheManager.getAsyncCache("users")).thenReturn(cache);
+        when(cache.getName()).thenReturn("users");
+        when(cache.putAsync(any(), any())).thenReturn(completedFuture(null));
+    }
+
+    @Test
+    public void hitCompletesWithoutExecutor() throws Exception {
+        when(cache.getAsync(any())).thenReturn(completedFuture(new SimpleValueWrapper("cached")));
+        when(beanFactory.getBean("executor", Executor.class)).thenReturn(command -> {
+            throw new AssertionError("hit must not be dispatched");
+        });
+
+        assertThat(proxy().find(1).get(1, TimeUnit.SECONDS)).isEqualTo("cached");
+        assertThat(target.calls.get()).isZero();
+    }
+
+    @Test
+    public void missLoadsOnExecutor() throws Exception {
+        when(cache.getAsync(any())).thenReturn(completedFuture(null));
+        when(beanFactory.getBean("executor", Executor.class)).thenReturn(Runnable::run);
+
+        assertThat(proxy().find(1).get(1, TimeUnit.SECONDS)).isEqualTo("user-1");
+        assertThat(target.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectedMissCompletesExceptionally() {
+        when(cache.getAsync(any())).thenReturn(completedFuture(null));
+        when(beanFactory.getBean("executor", Executor.class)).thenReturn(command -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        CompletableFuture<String> future = proxy().find(1);
+        assertThat(future.isCompletedExceptionally()).isTrue();
+        assertThatThrownBy(future::get).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(target.calls.get()).isZero();
+    }
+
+    @Test
+    public void missingCacheManagerProceeds() throws Exception {
+        when(beanFactory.getBean(DecoratingRedissonSpringCacheManager.class))
+                .thenThrow(new NoSuchBeanDefinitionException(DecoratingRedissonSpringCacheManager.class));
+
+        assertThat(proxy().find(1).get(1, TimeUnit.SECONDS)).isEqualTo("user-1");
+        assertThat(target.calls.get()).isEqualTo(1);
+    }
+
+    private Service proxy() {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new AsyncCacheInterceptor(beanFactory, "executor"));
+        return (Service) proxyFactory.getProxy();
+    }
+
+    public static class Service {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @AsyncCacheable("users")
+        public CompletableFuture<String> find(int id) {
+            calls.incrementAndGet();
+            return completedFuture("user-" + id);
+        }
+
+    }
+
+}
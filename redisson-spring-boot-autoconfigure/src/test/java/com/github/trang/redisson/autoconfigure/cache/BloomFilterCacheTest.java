@@ -0,0 +1,69 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.cache.Cache;
+
+public class BloomFilterCacheTest {
+
+    private final Cache target = mock(Cache.class);
+    private final CacheBloomFilter bloomFilter = mock(CacheBloomFilter.class);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Callable<String> loader = () -> {
+        loads.incrementAndGet();
+        return "value";
+    };
+
+    @Test
+    public void missReturnsCachedNullWhenNullValuesAllowed() {
+        Cache cache = new BloomFilterCache(target, bloomFilter, true);
+
+        Cache.ValueWrapper wrapper = cache.get("key");
+        assertThat(wrapper).isNotNull();
+        assertThat(wrapper.get()).isNull();
+        assertThat(cache.get("key", loader)).isNull();
+        assertThat(loads.get()).isZero();
+        verify(target, never()).get(any());
+    }
+
+    @Test
+    public void missIsCacheMissWhenNullValuesNotAllowed() {
+        Cache cache = new BloomFilterCache(target, bloomFilter, false);
+
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.get("key", loader)).isEqualTo("value");
+        assertThat(loads.get()).isEqualTo(1);
+        verify(target).put("key", "value");
+        verify(bloomFilter).add("key");
+    }
+
+    @Test
+    public void hitDelegatesToTarget() {
+        when(bloomFilter.mightContain("key")).thenReturn(true);
+        when(target.get("key", loader)).thenReturn("cached");
+        Cache cache = new BloomFilterCache(target, bloomFilter, true);
+
+        assertThat(cache.get("key", loader)).isEqualTo("cached");
+        verify(target).get("key", loader);
+    }
+
+    @Test
+    public void putAddsNonNullValues() {
+        Cache cache = new BloomFilterCache(target, bloomFilter, true);
+
+        cache.put("key", "value");
+        cache.put("null", null);
+        verify(bloomFilter).add("key");
+        verify(bloomFilter, never()).add("null");
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSet;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RFuture;
+import org.redisson.api.RTopic;
+import org.redisson.api.RTopicAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.Codec;
+
+public class CacheBloomFilterTest {
+
+    private final RedissonClient redisson = mock(RedissonClient.class);
+    private final RBatch batch = mock(RBatch.class);
+    private final RBitSetAsync bitsAsync = mock(RBitSetAsync.class);
+    private final RBitSet bits = mock(RBitSet.class);
+    @SuppressWarnings("unchecked")
+    private final RTopic<String> topic = mock(RTopic.class);
+    @SuppressWarnings("unchecked")
+    private final RTopicAsync<String> topicAsync = mock(RTopicAsync.class);
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(redisson.createBatch()).thenReturn(batch);
+        when(batch.getBitSet("bloom")).thenReturn(bitsAsync);
+        when(batch.getTopic(eq("bloom:added"), any(Codec.class))).thenReturn((RTopicAsync) topicAsync);
+        when(redisson.getBitSet("bloom")).thenReturn(bits);
+        when(redisson.getTopic(eq("bloom:added"), any(Codec.class))).thenReturn((RTopic) topic);
+        when(bits.asBitSet()).thenReturn(new BitSet());
+    }
+
+    @Test
+    public void mightContainBeforeFirstLoad() {
+        CacheBloomFilter bloomFilter = bloomFilter(Long.MAX_VALUE, false);
+
+        assertThat(bloomFilter.mightContain("key")).isTrue();
+        verify(redisson, never()).createBatch();
+    }
+
+    @Test
+    public void localAbsentIsFinal() {
+        CacheBloomFilter bloomFilter = bloomFilter(Long.MAX_VALUE, false);
+        bloomFilter.refresh();
+
+        assertThat(bloomFilter.mightContain("key")).isFalse();
+        assertThat(bloomFilter.mightContainAsync("key").join()).isFalse();
+        verify(redisson, never()).createBatch();
+    }
+
+    @Test
+    public void addIsVisibleLocallyAndPublished() {
+        CacheBloomFilter bloomFilter = bloomFilter(Long.MAX_VALUE, false);
+        bloomFilter.refresh();
+
+        bloomFilter.add("key");
+
+        assertThat(bloomFilter.mightContain("key")).isTrue();
+        verify(topicAsync).publishAsync(anyString());
+        verify(batch).execute();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void keysAddedByOtherNodesAreMerged() {
+        CacheBloomFilter other = bloomFilter(Long.MAX_VALUE, false);
+        other.refresh();
+        other.add("key");
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(topicAsync).publishAsync(message.capture());
+        CacheBloomFilter bloomFilter = bloomFilter(Long.MAX_VALUE, false);
+        bloomFilter.refresh();
+        bloomFilter.subscribe();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addListener(listener.capture());
+
+        listener.getValue().onMessage("bloom:added", message.getValue());
+
+        assertThat(bloomFilter.mightContain("key")).isTrue();
+    }
+
+    @Test
+    public void confirmAbsentReadsRedis() {
+        redisBits(true);
+        CacheBloomFilter bloomFilter = bloomFilter(Long.MAX_VALUE, true);
+        bloomFilter.refresh();
+
+        assertThat(bloomFilter.mightContain("key")).isTrue();
+        // 命中后合并到本地快照，第二次由本地快照判断
+        assertThat(bloomFilter.mightContain("key")).isTrue();
+        verify(redisson, times(1)).createBatch();
+    }
+
+    @Test
+    public void confirmAbsentFailureIsTreatedAsMightContain() {
+        RFuture<?> failed = executed(new RedisException("down"));
+        doAnswer(invocation -> failed).when(batch).executeAsync();
+        redisBits(false);
+        CacheBloomFilter bloomFilter = bloomFilter(Long.MAX_VALUE, true);
+        bloomFilter.refresh();
+
+        assertThat(bloomFilter.mightContainAsync("key").join()).isTrue();
+    }
+
+    @Test
+    public void failedRefreshIsRetried() {
+        when(bits.asBitSet()).thenThrow(new RedisException("down")).thenReturn(new BitSet());
+        CacheBloomFilter bloomFilter = bloomFilter(60000, false);
+
+        bloomFilter.mightContain("key");
+        bloomFilter.mightContain("key");
+        // 失败后在重试间隔内不会再次刷新，但也没有推迟一个完整的刷新间隔
+        verify(bits, times(1)).asBitSet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisBits(boolean value) {
+        RFuture<Boolean> future = mock(RFuture.class);
+        when(future.getNow()).thenReturn(value);
+        when(bitsAsync.getAsync(anyLong())).thenReturn(future);
+        RFuture<?> executed = executed(null);
+        doAnswer(invocation -> executed).when(batch).executeAsync();
+    }
+
+    /**
+     * 模拟 RBatch#executeAsync 的返回值，只需要 whenComplete
+     */
+    @SuppressWarnings("unchecked")
+    private static RFuture<?> executed(Throwable error) {
+        RFuture<Object> future = mock(RFuture.class);
+        when(future.whenComplete(any(BiConsumer.class))).thenAnswer(invocation -> {
+            ((BiConsumer<Object, Throwable>) invocation.getArguments()[0]).accept(null, error);
+            return CompletableFuture.completedFuture(null);
+        });
+        return future;
+    }
+
+    private CacheBloomFilter bloomFilter(long refreshInterval, boolean confirmAbsent) {
+        return new CacheBloomFilter("bloom", redisson, 1000, 0.01, refreshInterval, confirmAbsent, Runnable::run);
+    }
+
+}
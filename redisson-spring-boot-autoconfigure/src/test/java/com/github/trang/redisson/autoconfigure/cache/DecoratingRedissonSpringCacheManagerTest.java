@@ -0,0 +1,79 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import org.junit.Test;
+import org.redisson.api.RedissonClient;
+import org.redisson.spring.cache.CacheConfig;
+import org.springframework.cache.Cache;
+
+import com.github.trang.redisson.autoconfigure.enums.CacheStorageType;
+
+public class DecoratingRedissonSpringCacheManagerTest {
+
+    private final RedissonClient redisson = mock(RedissonClient.class);
+    private final DecoratingRedissonSpringCacheManager cacheManager =
+            new DecoratingRedissonSpringCacheManager(redisson, singletonMap("users", new CacheConfig(60000, 0)));
+
+    @Test
+    public void bucketCacheDoesNotCreateMapCache() {
+        cacheManager.setCacheNames(singletonList("users"));
+        cacheManager.setStorageType(CacheStorageType.BUCKET);
+
+        assertThat(cacheManager.getCache("users")).isInstanceOf(RedissonBucketCache.class);
+        assertThat(cacheManager.getCacheNames()).containsExactly("users");
+        // 不会调用 getMapCache，也就不会注册过期清理任务
+        verifyZeroInteractions(redisson);
+    }
+
+    @Test
+    public void unknownCacheIsNullWhenNotDynamic() {
+        cacheManager.setCacheNames(singletonList("users"));
+        cacheManager.setStorageType(CacheStorageType.BUCKET);
+
+        assertThat(cacheManager.getCache("orders")).isNull();
+        assertThat(cacheManager.getAsyncCache("orders")).isNull();
+    }
+
+    @Test
+    public void anyCacheIsCreatedWhenDynamic() {
+        cacheManager.setStorageType(CacheStorageType.BUCKET);
+
+        assertThat(cacheManager.getCache("orders")).isInstanceOf(RedissonBucketCache.class);
+    }
+
+    @Test
+    public void decoratorsAddedAfterSetCacheNamesAreApplied() {
+        cacheManager.setCacheNames(singletonList("users"));
+        cacheManager.setStorageType(CacheStorageType.BUCKET);
+        cacheManager.addDecorator(FailFastCache::new);
+
+        Cache cache = cacheManager.getCache("users");
+        assertThat(cache).isInstanceOf(FailFastCache.class);
+        assertThat(cacheManager.getCache("users")).isSameAs(cache);
+    }
+
+    @Test
+    public void asyncDecoratorsAreAppliedToAsyncCache() {
+        cacheManager.setCacheNames(singletonList("users"));
+        cacheManager.setStorageType(CacheStorageType.BUCKET);
+        cacheManager.addDecorator(FailFastCache::new, FailFastAsyncCache::new);
+
+        assertThat(cacheManager.getCache("users")).isInstanceOf(FailFastCache.class);
+        assertThat(cacheManager.getAsyncCache("users")).isInstanceOf(FailFastAsyncCache.class);
+    }
+
+    @Test
+    public void cacheOnlyDecoratorsAreNotAppliedToAsyncCache() {
+        cacheManager.setCacheNames(singletonList("users"));
+        cacheManager.setStorageType(CacheStorageType.BUCKET);
+        cacheManager.addDecorator(FailFastCache::new);
+
+        assertThat(cacheManager.getAsyncCache("users")).isInstanceOf(RedissonBucketCache.class);
+    }
+
+}
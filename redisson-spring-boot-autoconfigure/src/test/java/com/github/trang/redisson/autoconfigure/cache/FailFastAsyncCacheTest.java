@@ -0,0 +1,46 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+import org.redisson.client.RedisException;
+import org.springframework.cache.Cache.ValueWrapper;
+
+public class FailFastAsyncCacheTest {
+
+    private final AsyncCache target = mock(AsyncCache.class);
+    private final FailFastAsyncCache cache = new FailFastAsyncCache(target);
+
+    @Test
+    public void redisExceptionIsMiss() throws Exception {
+        when(target.getAsync("key")).thenReturn(failed(new RedisException("down")));
+
+        assertThat(cache.getAsync("key").get()).isNull();
+    }
+
+    @Test
+    public void otherExceptionIsRethrown() throws Exception {
+        IllegalStateException error = new IllegalStateException("codec");
+        when(target.getAsync("key")).thenReturn(failed(error));
+
+        try {
+            cache.getAsync("key").get();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isSameAs(error);
+            return;
+        }
+        throw new AssertionError("expected ExecutionException");
+    }
+
+    private static CompletableFuture<ValueWrapper> failed(Throwable e) {
+        CompletableFuture<ValueWrapper> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.redisson.api.RKeys;
+import org.redisson.api.RedissonClient;
+import org.redisson.spring.cache.CacheConfig;
+
+public class RedissonBucketCacheTest {
+
+    private final RedissonClient redisson = mock(RedissonClient.class);
+
+    @Test
+    public void keysOfDifferentCachesDoNotCollide() {
+        RedissonBucketCache a = cache("a");
+        RedissonBucketCache ab = cache("a:b");
+
+        assertThat(a.keyOf("b:c")).isEqualTo("a:b:c");
+        assertThat(ab.keyOf("c")).isEqualTo("a\\:b:c");
+        assertThat(a.keyOf("b:c")).isNotEqualTo(ab.keyOf("c"));
+    }
+
+    @Test
+    public void hashTagKeyUsesEscapedName() {
+        RedissonBucketCache cache = new RedissonBucketCache("a:b", redisson, null, new CacheConfig(), true, true);
+
+        assertThat(cache.keyOf("c")).isEqualTo("{a\\:b}:c");
+    }
+
+    @Test
+    public void clearScansOnlyItsOwnEscapedPrefix() {
+        RKeys keys = mock(RKeys.class);
+        when(redisson.getKeys()).thenReturn(keys);
+        when(keys.getKeysByPattern("a\\*b\\\\:c:*", 1000)).thenReturn(asList("a*b\\:c:1", "a*b\\:c:2"));
+
+        cache("a*b:c").clear();
+
+        verify(keys).getKeysByPattern("a\\*b\\\\:c:*", 1000);
+        verify(keys).delete("a*b\\:c:1", "a*b\\:c:2");
+        verify(keys, never()).deleteByPattern(anyString());
+    }
+
+    @Test
+    public void clearDeletesInBatches() {
+        RKeys keys = mock(RKeys.class);
+        when(redisson.getKeys()).thenReturn(keys);
+        List<String> found = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            found.add("users:" + i);
+        }
+        when(keys.getKeysByPattern(anyString(), anyInt())).thenReturn(found);
+
+        cache("users").clear();
+
+        verify(keys, times(3)).delete((String[]) anyVararg());
+    }
+
+    @Test
+    public void prefixOfOneCacheDoesNotMatchAnother() {
+        // cache "a" 的 pattern 为 a:*，cache "a:b" 的 key 以 a\: 开头，不会被匹配
+        assertThat(RedissonBucketCache.globEscape(RedissonBucketCache.escape("a") + ":") + "*").isEqualTo("a:*");
+        assertThat(cache("a:b").keyOf("c")).doesNotStartWith("a:");
+    }
+
+    private RedissonBucketCache cache(String name) {
+        return new RedissonBucketCache(name, redisson, null, new CacheConfig(), true);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.trang.redisson.autoconfigure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.redisson.api.RBatch;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionAwareAsyncCacheTest {
+
+    private final RedissonClient redisson = mock(RedissonClient.class);
+    private final RBatch batch = mock(RBatch.class);
+    private final Codec codec = mock(Codec.class);
+    @SuppressWarnings("unchecked")
+    private final RMap<Object, Object> map = mock(RMap.class);
+    @SuppressWarnings("unchecked")
+    private final RMapAsync<Object, Object> batchMap = mock(RMapAsync.class);
+    private TransactionAwareAsyncCache cache;
+
+    @Before
+    public void setUp() {
+        when(redisson.createBatch()).thenReturn(batch);
+        when(map.getName()).thenReturn("users");
+        when(map.getCodec()).thenReturn(codec);
+        doReturn(batchMap).when(batch).getMap("users", codec);
+        cache = new TransactionAwareAsyncCache(new RedissonMapAsyncCache("users", map, null, true), redisson);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @After
+    public void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_UNKNOWN));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    public void writesAreSentInOneBatchAfterCommit() {
+        assertThat(cache.putAsync("1", "a")).isDone();
+        assertThat(cache.evictAsync("2")).isDone();
+        verify(map, never()).fastPutAsync("1", "a");
+        verify(map, never()).fastRemoveAsync("2");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        InOrder inOrder = inOrder(batchMap, batch);
+        inOrder.verify(batchMap).fastPutAsync("1", "a");
+        inOrder.verify(batchMap).fastRemoveAsync("2");
+        inOrder.verify(batch).execute();
+        verify(redisson).createBatch();
+    }
+
+}
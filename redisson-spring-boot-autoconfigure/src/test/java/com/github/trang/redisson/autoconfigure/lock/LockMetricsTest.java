@@ -0,0 +1,96 @@
+package com.github.trang.redisson.autoconfigure.lock;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.github.trang.redisson.autoconfigure.lock.LockMetrics.LockType;
+
+public class LockMetricsTest {
+
+    private final LockMetrics lockMetrics = new LockMetrics(emptyList(), 1000);
+    private final Thread current = Thread.currentThread();
+
+    @Test
+    public void readAndWriteLocksWithSameNameAreHeldSeparately() {
+        acquire(LockType.WRITE, current.getId(), current, -1);
+        acquire(LockType.READ, current.getId(), current, -1);
+
+        // 释放读锁不会结束写锁的持有
+        lockMetrics.recordReleased("order", LockType.READ, current.getId());
+        assertThat(stats().getReleasedCount()).isEqualTo(1);
+
+        lockMetrics.recordReleased("order", LockType.WRITE, current.getId());
+        assertThat(stats().getReleasedCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void reentrantLockIsReleasedOnce() {
+        acquire(LockType.LOCK, current.getId(), current, -1);
+        acquire(LockType.LOCK, current.getId(), current, -1);
+
+        lockMetrics.recordReleased("order", LockType.LOCK, current.getId());
+        assertThat(stats().getReleasedCount()).isZero();
+
+        lockMetrics.recordReleased("order", LockType.LOCK, current.getId());
+        assertThat(stats().getAcquiredCount()).isEqualTo(2);
+        assertThat(stats().getReleasedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void asyncLockIsReleasedByThreadId() {
+        acquire(LockType.LOCK, 42, null, -1);
+
+        lockMetrics.recordReleased("order", LockType.LOCK, current.getId());
+        assertThat(stats().getReleasedCount()).isZero();
+
+        lockMetrics.recordReleased("order", LockType.LOCK, 42);
+        assertThat(stats().getReleasedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void expiredLeaseIsPruned() throws Exception {
+        acquire(LockType.LOCK, current.getId(), current, 1);
+        Thread.sleep(5);
+
+        lockMetrics.prune();
+        assertThat(stats().getReleasedCount()).isEqualTo(1);
+        // 持有时间不超过租约时间
+        assertThat(stats().getMaxHoldTime()).isLessThanOrEqualTo(1);
+
+        // 租约到期后的释放不再重复计算
+        lockMetrics.recordReleased("order", LockType.LOCK, current.getId());
+        assertThat(stats().getReleasedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void holdingOfTerminatedThreadIsPruned() throws Exception {
+        Thread owner = new Thread(() -> acquire(LockType.LOCK, Thread.currentThread().getId(), Thread.currentThread(), -1));
+        owner.start();
+        owner.join();
+
+        lockMetrics.prune();
+        lockMetrics.recordForceReleased("order", LockType.LOCK);
+        // 线程结束时不知道何时释放，不计入释放次数
+        assertThat(stats().getReleasedCount()).isZero();
+    }
+
+    @Test
+    public void forceUnlockReleasesAllThreads() {
+        acquire(LockType.LOCK, current.getId(), current, -1);
+        acquire(LockType.LOCK, 42, null, -1);
+
+        lockMetrics.recordForceReleased("order", LockType.LOCK);
+        assertThat(stats().getReleasedCount()).isEqualTo(2);
+    }
+
+    private void acquire(LockType type, long threadId, Thread owner, long leaseTime) {
+        lockMetrics.recordAcquired("order", type, threadId, owner, 0, leaseTime, 30000);
+    }
+
+    private LockStats stats() {
+        return lockMetrics.getStats().get(0);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.github.trang.redisson.autoconfigure.script;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.redisson.api.NodesGroup;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+
+public class RedissonScriptRegistryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final RedissonClient redisson = mock(RedissonClient.class);
+    private final RScript script = mock(RScript.class);
+
+    private RedissonScriptRegistry registry(String name, String lua) {
+        when(redisson.getScript()).thenReturn(script);
+        when(redisson.getNodesGroup()).thenReturn(mock(NodesGroup.class));
+        return new RedissonScriptRegistry(redisson, singletonMap(name, lua));
+    }
+
+    @Test
+    public void configuredScriptsOverrideFiles() throws Exception {
+        File dir = folder.newFolder("scripts");
+        Files.write(new File(dir, "incr.lua").toPath(), "return 1".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(dir, "decr.lua").toPath(), "return -1".getBytes(StandardCharsets.UTF_8));
+        RedissonScriptRegistry registry = registry("incr", "return 2");
+        registry.setLocations(singletonList("file:" + dir.getAbsolutePath() + "/*.lua"));
+
+        registry.afterPropertiesSet();
+
+        assertThat(registry.getNames()).containsOnly("incr", "decr");
+        verify(script).scriptLoad("return 2");
+        verify(script).scriptLoad("return -1");
+    }
+
+    @Test
+    public void noScriptIsRetriedOnMaster() throws Exception {
+        RedissonScriptRegistry registry = registry("incr", "return 1");
+        String sha = registry.getSha("incr");
+        when(script.evalSha(eq(RScript.Mode.READ_ONLY), eq(sha), any(RScript.ReturnType.class), anyListOf(Object.class)))
+                .thenThrow(new RedisException("NOSCRIPT No matching script"));
+        when(script.evalSha(eq(RScript.Mode.READ_WRITE), eq(sha), any(RScript.ReturnType.class), anyListOf(Object.class)))
+                .thenReturn(1L);
+
+        Long result = registry.eval("incr", RScript.Mode.READ_ONLY, RScript.ReturnType.INTEGER, emptyList());
+
+        assertThat(result).isEqualTo(1L);
+        verify(script).scriptLoad(anyString());
+    }
+
+}
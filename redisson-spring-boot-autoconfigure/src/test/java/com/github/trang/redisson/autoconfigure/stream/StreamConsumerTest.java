@@ -0,0 +1,157 @@
+package com.github.trang.redisson.autoconfigure.stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.trang.redisson.autoconfigure.RedissonSpringProperties.StreamConsumerProperties;
+import com.github.trang.redisson.autoconfigure.stream.StreamCommands.PendingMessage;
+
+public class StreamConsumerTest {
+
+    private final StreamCommands commands = mock(StreamCommands.class);
+    private final List<StreamMessage> handled = new CopyOnWriteArrayList<>();
+    private final StreamConsumerProperties properties = new StreamConsumerProperties();
+    private StreamConsumer consumer;
+
+    @Before
+    public void setUp() {
+        properties.setGroup("group");
+        properties.setPollInterval(10);
+        properties.setMaxPollInterval(200);
+        properties.setClaimInterval(0);
+        properties.setMinIdleTime(60000);
+        properties.setMaxDeliveries(3);
+        when(commands.read(anyString(), anyInt())).thenReturn(emptyList());
+    }
+
+    @After
+    public void tearDown() {
+        if (consumer != null) {
+            consumer.stop(1000);
+        }
+    }
+
+    @Test
+    public void ackBatchAfterHandled() {
+        when(commands.read(anyString(), anyInt()))
+                .thenReturn(asList(message("1-0"), message("2-0")))
+                .thenReturn(emptyList());
+        start(handled::addAll);
+
+        verify(commands, timeout(1000)).ack(asList("1-0", "2-0"));
+        assertThat(handled).extracting(StreamMessage::getId).containsExactly("1-0", "2-0");
+    }
+
+    @Test
+    public void failedBatchIsNotAcked() throws Exception {
+        when(commands.read(anyString(), anyInt()))
+                .thenReturn(singletonList(message("1-0")))
+                .thenReturn(emptyList());
+        CountDownLatch attempted = new CountDownLatch(1);
+        start(messages -> {
+            attempted.countDown();
+            throw new IllegalStateException("boom");
+        });
+
+        assertThat(attempted.await(1, SECONDS)).isTrue();
+        // stop 会等待处理线程池执行完已提交的批次
+        consumer.stop(1000);
+        verify(commands, never()).ack(any());
+    }
+
+    @Test
+    public void emptyReadsBackOff() {
+        consumer = new StreamConsumer("test", commands, handled::addAll, properties, "consumer", "stream:dead-letter");
+
+        long backoff = properties.getPollInterval();
+        List<Long> backoffs = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            backoff = consumer.nextBackoff(backoff);
+            backoffs.add(backoff);
+        }
+        assertThat(backoffs).containsExactly(20L, 40L, 80L, 160L, 200L, 200L, 200L);
+    }
+
+    @Test
+    public void claimRetriesIdleMessagesAndDeadLettersPoisonMessages() throws Exception {
+        when(commands.pending("-", 100)).thenReturn(asList(
+                new PendingMessage("1-0", "other", 70000, 3),
+                new PendingMessage("2-0", "other", 70000, 1),
+                new PendingMessage("3-0", "other", 10, 1)));
+        when(commands.claim("consumer-0", 60000, singletonList("1-0"))).thenReturn(singletonList(message("1-0")));
+        when(commands.claim("consumer-0", 60000, singletonList("2-0"))).thenReturn(singletonList(message("2-0")));
+        start(handled::addAll);
+
+        assertThat(consumer.claimOnce("consumer-0", "-")).isNull();
+
+        verify(commands).add("stream:dead-letter", singletonMap("field", "1-0"));
+        verify(commands).ack(singletonList("1-0"));
+        verify(commands, timeout(1000)).ack(singletonList("2-0"));
+        verify(commands, never()).claim("consumer-0", 60000, singletonList("3-0"));
+        assertThat(handled).extracting(StreamMessage::getId).containsExactly("2-0");
+    }
+
+    @Test
+    public void claimPagesThroughPendingMessages() throws Exception {
+        properties.setBatchSize(2);
+        when(commands.pending("-", 2)).thenReturn(asList(
+                new PendingMessage("1-0", "other", 10, 1),
+                new PendingMessage("2-0", "other", 10, 1)));
+        when(commands.pending("2-1", 2)).thenReturn(singletonList(new PendingMessage("3-0", "other", 70000, 1)));
+        when(commands.claim("consumer-0", 60000, singletonList("3-0"))).thenReturn(singletonList(message("3-0")));
+        start(handled::addAll);
+
+        assertThat(consumer.claimOnce("consumer-0", "-")).isEqualTo("2-1");
+        assertThat(consumer.claimOnce("consumer-0", "2-1")).isNull();
+
+        verify(commands, timeout(1000)).ack(singletonList("3-0"));
+        assertThat(handled).extracting(StreamMessage::getId).containsExactly("3-0");
+    }
+
+    @Test
+    public void claimNothingWhenNoMessageIsIdle() throws Exception {
+        when(commands.pending(anyString(), anyInt())).thenReturn(singletonList(new PendingMessage("1-0", "other", 10, 1)));
+        start(handled::addAll);
+
+        assertThat(consumer.claimOnce("consumer-0", "-")).isNull();
+        verify(commands, never()).claim(anyString(), anyLong(), any());
+    }
+
+    @Test
+    public void nextIdIncrementsSequence() {
+        assertThat(StreamCommands.nextId("1526919030474-55")).isEqualTo("1526919030474-56");
+        assertThat(StreamCommands.nextId("1526919030474")).isEqualTo("1526919030474-1");
+    }
+
+    private void start(StreamMessageHandler handler) {
+        consumer = new StreamConsumer("test", commands, handler, properties, "consumer", "stream:dead-letter");
+        consumer.start();
+    }
+
+    private static StreamMessage message(String id) {
+        return new StreamMessage("stream", id, singletonMap("field", id));
+    }
+
+}
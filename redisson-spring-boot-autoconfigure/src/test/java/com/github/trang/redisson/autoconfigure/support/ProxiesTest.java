@@ -0,0 +1,22 @@
+package com.github.trang.redisson.autoconfigure.support;
+
+import static com.github.trang.redisson.autoconfigure.support.Proxies.invoke;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.redisson.api.RedissonClient;
+
+public class ProxiesTest {
+
+    @Test
+    public void unwrapNestedProxies() {
+        RedissonClient redisson = mock(RedissonClient.class);
+        RedissonClient inner = Proxies.create(RedissonClient.class, redisson, (method, args) -> invoke(redisson, method, args));
+        RedissonClient outer = Proxies.create(RedissonClient.class, inner, (method, args) -> invoke(inner, method, args));
+
+        assertThat(Proxies.unwrap(outer)).isSameAs(redisson);
+        assertThat(Proxies.unwrap(redisson)).isSameAs(redisson);
+    }
+
+}